@@ -0,0 +1,75 @@
+package com.r3edge.cloudregistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.r3edge.cloudregistry.loadbalancer.LoadBalancerSelector;
+import com.r3edge.cloudregistry.loadbalancer.RandomLoadBalancer;
+
+/**
+ * Compare la sélection historique (flux sur toutes les valeurs de la registry,
+ * filtrées par nom de service à chaque appel) à la résolution par la table de
+ * routage ({@code resolveInternalServiceUrl}), remplies avec 20 services. Le
+ * chemin historique est mesuré sur une liste en mémoire, sans le coût de
+ * {@code IMap.values()} qui le précédait.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PickUrlBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int instances;
+
+    private HazelcastServiceRegistry registry;
+    private List<ServiceDescriptor> all;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ServiceRegistryProperties properties = new ServiceRegistryProperties();
+        registry = new HazelcastServiceRegistry(null, properties, null,
+            new LoadBalancerSelector(List.of(new RandomLoadBalancer()), properties), null, null);
+        all = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            String service = s == 0 ? "api" : "service-" + s;
+            for (int i = 0; i < instances; i++) {
+                ServiceDescriptor d = ServiceDescriptor.builder()
+                    .serviceName(service)
+                    .instanceId(service + "@" + i)
+                    .internalBaseUrl("http://10.0." + s + "." + i + ":8080")
+                    .features(List.of("feature-" + s))
+                    .build();
+                all.add(d);
+            }
+        }
+        registry.getRoutingTable().reload(all);
+    }
+
+    @Benchmark
+    public String legacyPickRandomUrl() {
+        List<String> urls = all.stream()
+            .filter(d -> "api".equals(d.getServiceName()))
+            .map(ServiceDescriptor::getInternalBaseUrl)
+            .filter(Objects::nonNull)
+            .toList();
+        return urls.isEmpty() ? null : urls.get(ThreadLocalRandom.current().nextInt(urls.size()));
+    }
+
+    @Benchmark
+    public String resolveInternalServiceUrl() {
+        return registry.resolveInternalServiceUrl("api");
+    }
+}
@@ -0,0 +1,129 @@
+package com.r3edge.cloudregistry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.hazelcast.map.IMap;
+import com.r3edge.cloudregistry.loadbalancer.CandidateFilter;
+import com.r3edge.cloudregistry.loadbalancer.LoadBalancerSelector;
+import com.r3edge.cloudregistry.loadbalancer.OutlierDetector;
+import com.r3edge.cloudregistry.loadbalancer.RandomLoadBalancer;
+import com.r3edge.cloudregistry.metrics.RegistryMetrics;
+
+/**
+ * Mesure la résolution d'URL par service et par feature d'un
+ * {@link HazelcastServiceRegistry} adossé à un membre Hazelcast embarqué, pour
+ * 10, 100 et 10 000 descripteurs publiés (10 instances par service, 3 features
+ * par instance parmi 50).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistryResolutionBenchmark {
+
+    private static final int INSTANCES_PER_SERVICE = 10;
+    private static final int FEATURES = 50;
+
+    @Param({ "10", "100", "10000" })
+    public int descriptors;
+
+    private GenericApplicationContext springContext;
+    private HazelcastServiceRegistry registry;
+    private String[] serviceNames;
+    private String[] featureNames;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        ServiceRegistryProperties properties = new ServiceRegistryProperties();
+        properties.setStrategy("hazelcast");
+        properties.setHazelcastConfig("""
+            hazelcast:
+              cluster-name: r3edge-jmh
+              instance-name: r3edge-jmh-resolution
+              network:
+                join:
+                  multicast:
+                    enabled: false
+                  auto-detection:
+                    enabled: false
+            """);
+        springContext = new GenericApplicationContext();
+        springContext.refresh();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("outlierDetector", new OutlierDetector(properties));
+        registry = new HazelcastServiceRegistry(springContext, properties, Optional.empty(),
+            new LoadBalancerSelector(List.of(new RandomLoadBalancer()), properties),
+            beans.getBeanProvider(RegistryMetrics.class), beans.getBeanProvider(CandidateFilter.class));
+        registry.init();
+
+        int services = Math.max(1, descriptors / INSTANCES_PER_SERVICE);
+        serviceNames = new String[services];
+        for (int s = 0; s < services; s++) {
+            serviceNames[s] = "service-" + s;
+        }
+        featureNames = new String[FEATURES];
+        for (int f = 0; f < FEATURES; f++) {
+            featureNames[f] = "feature-" + f;
+        }
+
+        Map<String, ServiceDescriptor> batch = new HashMap<>();
+        for (int i = 0; i < descriptors; i++) {
+            String service = serviceNames[i % services];
+            String instanceId = service + "@10.0." + (i / 250) + "." + (i % 250) + ":8080";
+            batch.put(instanceId, ServiceDescriptor.builder()
+                .serviceName(service)
+                .instanceId(instanceId)
+                .internalBaseUrl("http://10.0." + (i / 250) + "." + (i % 250) + ":8080")
+                .externalBaseUrl("https://api.domain.com/" + service)
+                .features(List.of(featureNames[i % FEATURES], featureNames[(i + 7) % FEATURES],
+                    featureNames[(i + 13) % FEATURES]))
+                .metadata(new HashMap<>(Map.of("zone", "zone-" + (i % 3))))
+                .build());
+        }
+        IMap<String, ServiceDescriptor> map = registry.getHazelcast().getMap("r3edge-service-registry");
+        map.putAll(batch);
+
+        // La table de routage est alimentée de façon asynchrone par le listener
+        while (registry.getRegisteredFeatures().values().stream().mapToInt(List::size).sum() < descriptors * 3) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registry.getHazelcast().shutdown();
+        springContext.close();
+    }
+
+    @Benchmark
+    public String resolveInternalServiceUrl() {
+        return registry.resolveInternalServiceUrl(serviceNames[next(serviceNames.length)]);
+    }
+
+    @Benchmark
+    public String resolveInternalFeatureUrl() {
+        return registry.resolveInternalFeatureUrl(featureNames[next(FEATURES)]);
+    }
+
+    private int next(int bound) {
+        cursor = cursor + 1 == Integer.MAX_VALUE ? 0 : cursor + 1;
+        return cursor % bound;
+    }
+}
@@ -0,0 +1,89 @@
+package com.r3edge.cloudregistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+
+/**
+ * Compare la sérialisation Java historique de {@link ServiceDescriptor} au
+ * format {@code IdentifiedDataSerializable} : temps de (dé)sérialisation et
+ * taille des payloads (affichée au démarrage de chaque trial).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ServiceDescriptorSerializationBenchmark {
+
+    private SerializationService serializationService;
+    private ServiceDescriptor descriptor;
+    private byte[] javaBytes;
+    private Data identifiedData;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        serializationService = new DefaultSerializationServiceBuilder()
+            .addDataSerializableFactory(RegistryDataSerializableFactory.FACTORY_ID, new RegistryDataSerializableFactory())
+            .build();
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("announced-ip", "10.0.0.1");
+        metadata.put("zone", "eu-west-1a");
+        metadata.put("__internal__hazelcast_uuid", "0b7a8f64-4a2e-4a69-9d5e-3f0c1c2e9f11");
+        descriptor = ServiceDescriptor.builder()
+            .serviceName("sessionmanager")
+            .instanceId("sessionmanager@10.0.0.1:8080@https://api.domain.com/sessionmanager")
+            .internalBaseUrl("http://10.0.0.1:8080")
+            .externalBaseUrl("https://api.domain.com/sessionmanager")
+            .features(List.of("greeting", "featureA", "cloudregistry.registryController"))
+            .metadata(metadata)
+            .build();
+        javaBytes = javaSerialize();
+        identifiedData = serializationService.toData(descriptor);
+        System.out.printf("%nPayload ServiceDescriptor : java=%d octets, identified=%d octets%n",
+            javaBytes.length, identifiedData.totalSize());
+    }
+
+    @Benchmark
+    public byte[] javaSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(descriptor);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object javaDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaBytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public Data identifiedSerialize() {
+        return serializationService.toData(descriptor);
+    }
+
+    @Benchmark
+    public Object identifiedDeserialize() {
+        return serializationService.toObject(identifiedData);
+    }
+}
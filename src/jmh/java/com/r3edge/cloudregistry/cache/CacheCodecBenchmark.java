@@ -0,0 +1,67 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Mesure le coût du codec des valeurs ({@code put} / {@code get} du cache
+ * décoré par {@link CacheConfig}) selon la taille du payload et le codec, sur
+ * un cache local afin d'isoler l'encodage du réseau.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheCodecBenchmark {
+
+    @Param({ "128", "4096", "65536" })
+    public int payloadSize;
+
+    @Param({ "none", "fast", "deflate" })
+    public String codec;
+
+    private Cache cache;
+    private String payload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CacheProperties.Compression compression = new CacheProperties.Compression();
+        compression.setCodec(codec);
+        cache = new CacheConfig.CompressingCacheManager(new ConcurrentMapCacheManager(), compression,
+            new ObjectMapper()).getCache("bench");
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; json.length() < payloadSize; i++) {
+            json.append("{\"id\":").append(i).append(",\"label\":\"produit-").append(i % 97)
+                .append("\",\"price\":").append(i * 13 % 1000).append(",\"tags\":[\"a\",\"b\"]},");
+        }
+        payload = json.substring(0, payloadSize - 1) + "]";
+        cache.put("stored", payload);
+        Object stored = ((Map<?, ?>) cache.getNativeCache()).get("stored");
+        System.out.printf("%nPayload %d octets, codec %s : stocké=%d octets%n", payloadSize, codec,
+            stored instanceof byte[] bytes ? bytes.length : payloadSize);
+    }
+
+    @Benchmark
+    public void put() {
+        cache.put("k", payload);
+    }
+
+    @Benchmark
+    public Object get() {
+        return cache.get("stored", String.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.r3edge.cloudregistry.RegistryDataSerializableFactory;
+
+/**
+ * Compare {@link SpringCacheGateway#putSmart} via EntryProcessor
+ * ({@link CacheMerger}) à la fusion lecture-puis-écriture côté appelant, sur un
+ * membre Hazelcast embarqué.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PutSmartBenchmark {
+
+    private static final CacheMerger<Long> SUM = (existing, delta) -> existing.orElse(0L) + delta;
+    private static final BiFunction<Optional<Long>, Long, Long> LOCAL_SUM = (existing, delta) -> existing.orElse(0L) + delta;
+
+    private HazelcastInstance hazelcast;
+    private CacheGateway gateway;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = new Config();
+        config.setClusterName("r3edge-jmh-cache");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig().addDataSerializableFactory(RegistryDataSerializableFactory.FACTORY_ID,
+            new RegistryDataSerializableFactory());
+        hazelcast = Hazelcast.newHazelcastInstance(config);
+        gateway = new SpringCacheGateway(new CacheConfig.CompressingCacheManager(new HazelcastCacheManager(hazelcast),
+            new CacheProperties.Compression(), new ObjectMapper()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hazelcast.shutdown();
+    }
+
+    @Benchmark
+    public Long entryProcessor() {
+        return gateway.putSmart("counters", "ep", 1L, SUM, CacheGateway.WriteOpts.none());
+    }
+
+    @Benchmark
+    public Long readThenWrite() {
+        return gateway.putSmart("counters", "rw", 1L, LOCAL_SUM, CacheGateway.WriteOpts.none());
+    }
+}
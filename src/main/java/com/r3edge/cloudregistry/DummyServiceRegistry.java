@@ -1,9 +1,12 @@
 package com.r3edge.cloudregistry;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -85,6 +88,11 @@ public class DummyServiceRegistry implements ServiceRegistry {
         log.info("📝 [Dummy] register appelé avec : {}", descriptor);
     }
 
+    @Override
+    public void updateSelfMetadata(Map<String, String> entries) {
+        log.info("📝 [Dummy] updateSelfMetadata appelé avec : {}", entries);
+    }
+
     @Override
     public void unregister(String serviceName) {
         log.info("🗑️ [Dummy] unregister pour : {}", serviceName);
@@ -118,6 +126,26 @@ public class DummyServiceRegistry implements ServiceRegistry {
             ));
     }
 
+    @Override
+    public List<ServiceDescriptor> findInstances(ServiceQuery query) {
+        ServiceDescriptor self = getSelfDescriptor();
+        if (self == null) return Collections.emptyList();
+        boolean matches = (query.getServiceName() == null || query.getServiceName().equals(self.getServiceName()))
+            && (query.getFeature() == null || getEnabledFeatures().contains(query.getFeature()))
+            && (query.getMetadata() == null || query.getMetadata().isEmpty());
+        return matches ? List.of(self) : Collections.emptyList();
+    }
+
+    @Override
+    public RegistryWatch watch(String resumeToken, Consumer<RegistryChangeEvent> listener) {
+        listener.accept(new RegistryChangeEvent(null, RegistryChangeEvent.Type.RESET, null, null));
+        ServiceDescriptor self = getSelfDescriptor();
+        if (self != null) {
+            listener.accept(new RegistryChangeEvent(null, RegistryChangeEvent.Type.SNAPSHOT, self.getInstanceId(), self));
+        }
+        return () -> { };
+    }
+
     @Override
     public void shutdown() {
         log.info("🛑 [Dummy] shutdown appelé");
@@ -145,6 +173,21 @@ public class DummyServiceRegistry implements ServiceRegistry {
         return null;
     }
 
+    @Override
+    public String resolveInternalServiceUrl(String serviceName, String routingKey) {
+        return resolveInternalServiceUrl(serviceName);
+    }
+
+    @Override
+    public Map<String, ServiceResolution> resolveAll(Collection<String> serviceNames) {
+        Map<String, ServiceResolution> result = new LinkedHashMap<>();
+        for (String serviceName : serviceNames) {
+            String url = resolveInternalServiceUrl(serviceName);
+            result.put(serviceName, new ServiceResolution(url, url == null ? List.of() : List.of(url)));
+        }
+        return result;
+    }
+
     @Override
     public String resolveExternalServiceUrl(String serviceName) {
         log.info("🔍 [Dummy] resolveExternalServiceUrl pour : {}", serviceName);
@@ -3,6 +3,7 @@ package com.r3edge.cloudregistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import com.hazelcast.core.HazelcastInstance;
 
@@ -25,13 +26,16 @@ public class HazelcastBridgeConfiguration {
     private final HazelcastServiceRegistry registry;
 
     /**
-     * Fournit l'instance Hazelcast initialisée par le registry.
+     * Fournit l'instance Hazelcast initialisée par le registry. En démarrage
+     * asynchrone, le bean n'est créé qu'à sa première injection, qui attend
+     * l'arrivée dans le cluster.
      * 
      * @return l'instance Hazelcast partagée dans le cluster
      */
     @Bean
+    @Lazy
     public HazelcastInstance hazelcastInstance() {
-        return registry.getHazelcast();
+        return registry.awaitHazelcast();
     }
 
     /**
@@ -2,17 +2,31 @@ package com.r3edge.cloudregistry;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.event.EventListener;
@@ -22,17 +36,39 @@ import org.yaml.snakeyaml.Yaml;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.cluster.MembershipEvent;
 import com.hazelcast.cluster.MembershipListener;
+import com.hazelcast.config.AttributeConfig;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.YamlConfigBuilder;
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.spring.context.SpringManagedContext;
+import com.r3edge.cloudregistry.RegistryRoutingTable.Route;
+import com.r3edge.cloudregistry.loadbalancer.CandidateFilter;
+import com.r3edge.cloudregistry.loadbalancer.Candidates;
+import com.r3edge.cloudregistry.loadbalancer.LoadBalancerSelector;
+import com.r3edge.cloudregistry.loadbalancer.LocalityFilter;
+import com.r3edge.cloudregistry.metrics.RegistryMetrics;
 import com.r3edge.springflip.FlipConfiguration;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +90,11 @@ import lombok.extern.slf4j.Slf4j;
  * L’instance locale est republiée automatiquement lors des événements
  * {@link RefreshScopeRefreshedEvent}.
  * </p>
+ * <p>
+ * La résolution d’URL (par service ou par feature) s’appuie sur une
+ * {@link RegistryRoutingTable} locale, tenue à jour par un listener sur la map
+ * Hazelcast : aucun parcours de la map distribuée n’est effectué à chaque appel.
+ * </p>
  */
 @Component("hazelcastServiceRegistry")
 @ConditionalOnProperty(prefix = "r3edge.registry", name = "strategy", havingValue = "hazelcast")
@@ -64,15 +105,49 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	private final ApplicationContext springContext;
 	private final ServiceRegistryProperties properties;
 	private final Optional<FlipConfiguration> flipConfiguration;
+	private final LoadBalancerSelector loadBalancers;
+	private final ObjectProvider<RegistryMetrics> metricsProvider;
+	private final ObjectProvider<CandidateFilter> candidateFilters;
 	@Getter
 	private boolean clientMode = false;
 	@Getter
 	private ClientConfig clientConfig;
 
 	@Getter
-	private HazelcastInstance hazelcast;
+	private volatile HazelcastInstance hazelcast;
+
+	/** Complété une fois le cluster rejoint (voir {@link #whenStarted()}) */
+	private final CompletableFuture<HazelcastInstance> started = new CompletableFuture<>();
+
+	/** Arrêt demandé, éventuellement avant la fin d’un démarrage asynchrone (gardé par {@code this}) */
+	private boolean stopping;
+
+	/** Readiness refusée par la registry en attendant le cluster */
+	private volatile boolean readinessGated;
+
+	private volatile ServiceInstance selfInstance;
+
+	/** Métadonnées dynamiques de l’instance locale, réappliquées à chaque republication */
+	private final Map<String, String> selfMetadata = new ConcurrentHashMap<>();
 
-	private ServiceInstance selfInstance;
+	/** Table de routage locale alimentée par les événements de la registry */
+	@Getter(AccessLevel.PACKAGE)
+	private final RegistryRoutingTable routingTable = new RegistryRoutingTable();
+
+	/** Mesures de résolution et de cluster (sans effet sans Micrometer) */
+	private RegistryMetrics metrics = RegistryMetrics.NOOP;
+
+	/** Filtres appliqués aux candidates avant le load balancing (éjection, ...) */
+	private CandidateFilter[] filters = new CandidateFilter[0];
+
+	/** Anneaux de hachage cohérent par service, pour la résolution par clé de routage */
+	private StickyRouting stickyRouting;
+
+	/** Instantané disque de la registry (optionnel) */
+	private RegistrySnapshotStore snapshotStore;
+
+	/** Journal local des changements, diffusé via {@link #watch(String, Consumer)} */
+	private RegistryChangeJournal changeJournal;
 
 	/** Nom de la map Hazelcast contenant les {@link ServiceDescriptor} */
 	private static final String REGISTRY_MAP_NAME = "r3edge-service-registry";
@@ -84,7 +159,41 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	 * @return map partagée dans le cluster
 	 */
 	private IMap<String, ServiceDescriptor> getRegistryMap() {
-		return hazelcast.getMap(REGISTRY_MAP_NAME);
+		HazelcastInstance instance = hazelcast;
+		return (instance != null ? instance : awaitHazelcast()).getMap(REGISTRY_MAP_NAME);
+	}
+
+	/**
+	 * Attend la fin du démarrage de Hazelcast (immédiat en mode synchrone), au
+	 * plus {@code r3edge.registry.startup.await-timeout}.
+	 *
+	 * @return l’instance Hazelcast démarrée
+	 * @throws IllegalStateException si le démarrage a échoué ou n’est pas
+	 *                               terminé dans le délai
+	 */
+	public HazelcastInstance awaitHazelcast() {
+		Duration timeout = properties.getStartup().getAwaitTimeout();
+		try {
+			return started.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (ExecutionException | CancellationException e) {
+			throw new IllegalStateException("Hazelcast indisponible", e.getCause() != null ? e.getCause() : e);
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("Hazelcast toujours en cours de démarrage après " + timeout
+					+ " (r3edge.registry.startup.await-timeout)");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Attente du démarrage de Hazelcast interrompue", e);
+		}
+	}
+
+	/**
+	 * Retourne une vue du démarrage de Hazelcast, complétée une fois le cluster
+	 * rejoint, ou en erreur si le démarrage a échoué.
+	 *
+	 * @return démarrage de Hazelcast
+	 */
+	public CompletableFuture<HazelcastInstance> whenStarted() {
+		return started.copy();
 	}
 
 	/**
@@ -94,6 +203,44 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	@PostConstruct
 	public void init() {
 		logHazelcastDiagnostics();
+		metrics = metricsProvider.getIfAvailable(() -> RegistryMetrics.NOOP);
+		metrics.bindRegistrySize(routingTable::size);
+		filters = candidateFilters.orderedStream().toArray(CandidateFilter[]::new);
+		stickyRouting = new StickyRouting(properties.getLoadBalancing().getVirtualNodes());
+		changeJournal = new RegistryChangeJournal(properties.getWatch().getJournalCapacity(),
+				properties.getWatch().getQueueCapacity(),
+				routingTable::getDescriptors);
+		openSnapshot();
+		if (flipConfiguration.isEmpty()) {
+			log.warn("⚠️ Spring Flip non détecté, les features ne seront pas dynamiques");
+		} else {
+			log.info("✅ Spring Flip détecté, features dynamiques activées");
+		}
+
+		if (properties.getStartup().isAsync()) {
+			Thread starter = new Thread(() -> {
+				try {
+					startHazelcast();
+				} catch (RuntimeException e) {
+					started.completeExceptionally(e);
+					log.warn("⚠️ Hazelcast indisponible – résolution limitée à l’instantané disque");
+				}
+			}, "r3edge-hazelcast-startup");
+			starter.setDaemon(true);
+			starter.start();
+			log.info("ℹ️ Démarrage Hazelcast en tâche de fond");
+		} else {
+			startHazelcast();
+		}
+	}
+
+	/**
+	 * Crée l’instance (ou le client) Hazelcast, branche les listeners et charge
+	 * la table de routage, puis signale la fin du démarrage : publication de
+	 * l’instance locale si elle est déjà connue et levée de la readiness.
+	 */
+	private void startHazelcast() {
+		HazelcastInstance instance = null;
 		try {
 			String yaml = properties.getHazelcastConfig();
             if (yaml == null || yaml.isBlank()) {
@@ -122,6 +269,10 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 			    config.setManagedContext(managedContext);
 			    log.info("✅ SpringManagedContext injecté – les tâches Hazelcast distribuées et annotées @SpringAware peuvent accéder aux beans Spring");
 
+				config.getSerializationConfig().addDataSerializableFactory(RegistryDataSerializableFactory.FACTORY_ID,
+						new RegistryDataSerializableFactory());
+				configureRegistryMap(config);
+
 				String instanceName = config.getInstanceName();
 				HazelcastInstance existing = Hazelcast.getHazelcastInstanceByName(instanceName);			
 				if (existing != null) {
@@ -129,13 +280,15 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 					existing.shutdown();
 				}
 
-				this.hazelcast = Hazelcast.newHazelcastInstance(config);
+				instance = Hazelcast.newHazelcastInstance(config);
 				log.info("✅ Hazelcast initialisé : {}", instanceName);
 			} else if (clientMode) {
 				clientConfig = new com.hazelcast.client.config.YamlClientConfigBuilder(
 						new ByteArrayInputStream(cleanYaml.getBytes(StandardCharsets.UTF_8))).build();
+				clientConfig.getSerializationConfig().addDataSerializableFactory(
+						RegistryDataSerializableFactory.FACTORY_ID, new RegistryDataSerializableFactory());
 
-				this.hazelcast = com.hazelcast.client.HazelcastClient.newHazelcastClient(clientConfig);
+				instance = com.hazelcast.client.HazelcastClient.newHazelcastClient(clientConfig);
 				log.info("✅ Hazelcast client initialisé (cluster: {})", clientConfig.getClusterName());
 			}
 
@@ -144,15 +297,90 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 			throw new IllegalStateException("Failed to initialize Hazelcast", e);
 		}
 
-		if (flipConfiguration.isEmpty()) {
-			log.warn("⚠️ Spring Flip non détecté, les features ne seront pas dynamiques");
-		} else {
-			log.info("✅ Spring Flip détecté, features dynamiques activées");
+		synchronized (this) {
+			if (stopping) {
+				log.warn("⚠️ Arrêt demandé pendant le démarrage – fermeture de l’instance Hazelcast");
+				instance.shutdown();
+				started.completeExceptionally(new IllegalStateException("Hazelcast arrêté pendant le démarrage"));
+				return;
+			}
+			this.hazelcast = instance;
 		}
 
 		HazelcastClusterListener listener = new HazelcastClusterListener();
 		hazelcast.getCluster().addMembershipListener(listener);
 		hazelcast.getLifecycleService().addLifecycleListener(listener);
+
+		getRegistryMap().addEntryListener(new RegistryEntryListener(), true);
+		reloadRoutingTable();
+		started.complete(hazelcast);
+		if (selfInstance != null) {
+			registerSelf();
+		}
+		if (readinessGated) {
+			log.info("✅ Cluster Hazelcast rejoint – application prête");
+			AvailabilityChangeEvent.publish(springContext, ReadinessState.ACCEPTING_TRAFFIC);
+		}
+	}
+
+	/**
+	 * Charge l’instantané disque dans la table de routage, pour résoudre avant
+	 * d’avoir rejoint le cluster, puis le tient à jour à chaque changement. Le
+	 * rechargement depuis la map Hazelcast remplace ensuite son contenu.
+	 */
+	private void openSnapshot() {
+		ServiceRegistryProperties.SnapshotProperties snapshot = properties.getSnapshot();
+		if (!snapshot.isEnabled())
+			return;
+		Path path = snapshot.getPath() != null ? Path.of(snapshot.getPath())
+				: Path.of(System.getProperty("java.io.tmpdir"), "r3edge-registry-"
+						+ Objects.requireNonNullElse(properties.getInstance().getServiceName(), "default") + ".snapshot");
+		snapshotStore = new RegistrySnapshotStore(path, snapshot.getDebounce(), routingTable::getDescriptors);
+		List<ServiceDescriptor> known = snapshotStore.load();
+		if (!known.isEmpty()) {
+			routingTable.reload(known);
+			log.info("✅ Résolution servie depuis l’instantané disque en attendant le cluster");
+		}
+		routingTable.onChange(snapshotStore::changed);
+	}
+
+	/**
+	 * Complète la configuration de la map de la registry (mode membre) :
+	 * attribut {@code meta[...]} sur les métadonnées, index HASH sur
+	 * {@code serviceName}, {@code features[any]}, l’UUID du membre propriétaire
+	 * (nettoyage au départ d’un membre) et les clés de métadonnées déclarées
+	 * dans {@code r3edge.registry.indexed-metadata-keys}.
+	 *
+	 * @param config configuration Hazelcast membre
+	 */
+	private void configureRegistryMap(Config config) {
+		MapConfig mapConfig = config.getMapConfig(REGISTRY_MAP_NAME);
+		boolean hasMetaAttribute = mapConfig.getAttributeConfigs().stream()
+				.anyMatch(a -> MetadataValueExtractor.ATTRIBUTE_NAME.equals(a.getName()));
+		if (!hasMetaAttribute) {
+			mapConfig.addAttributeConfig(
+					new AttributeConfig(MetadataValueExtractor.ATTRIBUTE_NAME, MetadataValueExtractor.class.getName()));
+		}
+		mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "serviceName"));
+		mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "features[any]"));
+		mapConfig.addIndexConfig(
+				new IndexConfig(IndexType.HASH, MetadataValueExtractor.attribute(INTERNAL_KEY_HAZELCAST_UUID)));
+		for (String key : properties.getIndexedMetadataKeys()) {
+			mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, MetadataValueExtractor.attribute(key)));
+		}
+		log.info("✅ Index de la registry : serviceName, features[any], metadata {}",
+				properties.getIndexedMetadataKeys());
+	}
+
+	/**
+	 * Recharge intégralement la table de routage locale depuis la map Hazelcast.
+	 * Appelée au démarrage et après un merge ou une reconnexion, lorsque des
+	 * événements ont pu être manqués.
+	 */
+	private void reloadRoutingTable() {
+		routingTable.reload(getRegistryMap().values());
+		changeJournal.resync();
+		log.info("✅ Table de routage locale chargée");
 	}
 
 	/**
@@ -160,8 +388,12 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	 */
 	@PreDestroy
 	public void destroy() {
+	    synchronized (this) {
+	        stopping = true;
+	    }
 	    if (hazelcast == null || !hazelcast.getLifecycleService().isRunning()) {
 	        log.warn("⚠️ Hazelcast déjà arrêté. Skip destruction logic.");
+	        closeLocalResources();
 	        return;
 	    }
 
@@ -176,10 +408,25 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 
 	    log.info("✅ Arrêt Hazelcast instance '{}'", hazelcast.getName());
 	    hazelcast.shutdown();
+	    closeLocalResources();
+	}
+
+	/**
+	 * Arrête les threads de diffusion du journal et écrit l’instantané disque
+	 * en attente.
+	 */
+	private void closeLocalResources() {
+		if (changeJournal != null) {
+			changeJournal.close();
+		}
+		if (snapshotStore != null) {
+			snapshotStore.close();
+		}
 	}
 
 	/**
-	 * Initialise l’instance locale et l’enregistre dans Hazelcast.
+	 * Initialise l’instance locale et l’enregistre dans Hazelcast. En démarrage
+	 * asynchrone, la publication attend que le cluster soit rejoint.
 	 *
 	 * @param selfInstance instance locale à enregistrer
 	 */
@@ -187,6 +434,10 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	public void completeInit(ServiceInstance selfInstance) {
 		this.selfInstance = selfInstance;
 		log.info("✅ SelfInstance initialisé : {}", selfInstance);
+		if (hazelcast == null) {
+			log.info("ℹ️ Publication de selfInstance différée jusqu’à l’arrivée dans le cluster");
+			return;
+		}
 		registerSelf();
 	}
 
@@ -200,14 +451,26 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	}
 
 	/**
-	 * Supprime toutes les instances d’un service donné de la registry.
+	 * Supprime toutes les instances d’un service donné de la registry. En mode
+	 * membre, par un unique {@code removeAll} évalué sur les partitions ; en
+	 * mode client, les membres n’embarquant pas forcément la librairie, par un
+	 * parcours des entrées depuis le client.
 	 *
 	 * @param serviceName nom du service
 	 */
 	@Override
 	public void unregister(String serviceName) {
 		log.info("ℹ️ Unregister tous les services '{}'", serviceName);
-		getRegistryMap().values().removeIf(d -> d.getServiceName().equals(serviceName));
+		IMap<String, ServiceDescriptor> map = getRegistryMap();
+		if (!clientMode) {
+			map.removeAll(Predicates.equal("serviceName", serviceName));
+			return;
+		}
+		for (Map.Entry<String, ServiceDescriptor> entry : map.entrySet()) {
+			if (serviceName.equals(entry.getValue().getServiceName())) {
+				map.remove(entry.getKey());
+			}
+		}
 	}
 
 	/**
@@ -219,10 +482,13 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	public void unregisterInstance(String instanceId) {
 		log.info("ℹ️ Unregister instance '{}'", instanceId);
 		getRegistryMap().remove(instanceId);
+		routingTable.remove(instanceId);
 	}
 
 	/**
-	 * Supprime une feature d’une instance spécifique.
+	 * Supprime une feature d’une instance spécifique, de manière atomique pour
+	 * la clé (voir {@link RemoveFeatureEntryProcessor} et
+	 * {@link #executeOnEntry(String, EntryProcessor)}).
 	 *
 	 * @param instanceId identifiant de l’instance
 	 * @param feature    nom de la feature à retirer
@@ -230,14 +496,54 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	@Override
 	public void unregisterFeature(String instanceId, String feature) {
 		log.info("ℹ️ Unregister feature '{}' from instance '{}'", feature, instanceId);
-		ServiceDescriptor descriptor = getRegistryMap().get(instanceId);
-		if (descriptor != null && descriptor.getFeatures() != null) {
-			List<String> updated = descriptor.getFeatures().stream().filter(f -> !f.equals(feature)).toList();
-			descriptor.setFeatures(updated);
-			getRegistryMap().put(instanceId, descriptor);
+		executeOnEntry(instanceId, new RemoveFeatureEntryProcessor(feature));
+	}
+
+	/**
+	 * Applique un entry processor à un descripteur de la registry. En mode
+	 * membre, il est exécuté sur la partition propriétaire. En mode client, les
+	 * membres n’embarquant pas forcément la librairie (ni ses entry processors
+	 * et sa factory de sérialisation), il est appliqué depuis le client sous
+	 * verrou de la clé : lecture, modification locale puis écriture.
+	 *
+	 * @param instanceId identifiant de l’instance
+	 * @param processor  modification à appliquer
+	 */
+	private void executeOnEntry(String instanceId, EntryProcessor<String, ServiceDescriptor, Boolean> processor) {
+		IMap<String, ServiceDescriptor> map = getRegistryMap();
+		if (!clientMode) {
+			map.executeOnKey(instanceId, processor);
+			return;
+		}
+		map.lock(instanceId);
+		try {
+			ServiceDescriptor current = map.get(instanceId);
+			if (current == null)
+				return;
+			Map.Entry<String, ServiceDescriptor> entry = new AbstractMap.SimpleEntry<>(instanceId, current);
+			if (processor.process(entry)) {
+				map.set(instanceId, entry.getValue());
+			}
+		} finally {
+			map.unlock(instanceId);
 		}
 	}
 
+	/**
+	 * Fusionne des métadonnées dans le descripteur publié de l’instance locale,
+	 * via un entry processor qui ne transmet que les clés modifiées (appliqué
+	 * depuis le client en mode client, voir {@link #executeOnEntry(String, EntryProcessor)}).
+	 *
+	 * @param entries métadonnées à ajouter ou remplacer
+	 */
+	@Override
+	public void updateSelfMetadata(Map<String, String> entries) {
+		selfMetadata.putAll(entries);
+		if (selfInstance == null || hazelcast == null)
+			return; // publiées avec le descripteur par registerSelf()
+		executeOnEntry(selfInstance.getInstanceId(), new UpdateMetadataEntryProcessor(new HashMap<>(entries)));
+	}
+
 	/**
 	 * Retourne la liste des services enregistrés, regroupés par nom logique. Les
 	 * features sont recalculées dynamiquement si Spring Flip est actif.
@@ -249,16 +555,109 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	}
 
 	/**
-	 * Retourne la liste des instances par feature exposée. Les features sont
-	 * recalculées dynamiquement si Spring Flip est actif.
+	 * Retourne la liste des instances par feature exposée, depuis l’index
+	 * inversé maintenu localement. Les features sont celles publiées par chaque
+	 * descripteur (republiées à chaque refresh Spring Flip).
 	 */
 	@Override
 	public Map<String, List<ServiceDescriptor>> getRegisteredFeatures() {
-		return getRegistryMap().values().stream().flatMap(d -> {
-			List<String> enabled = selfInstance.getEnabledFeatures();
-			return enabled.stream().map(f -> Map.entry(f, cloneWithDynamicFeatures(d)));
-		}).collect(
-				Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+		return routingTable.getFeatureInstances();
+	}
+
+	/**
+	 * Abonne un observateur au journal local des changements de la registry.
+	 *
+	 * @param resumeToken jeton du dernier événement reçu, ou {@code null}
+	 * @param listener    observateur des changements
+	 * @return l’abonnement
+	 */
+	@Override
+	public RegistryWatch watch(String resumeToken, Consumer<RegistryChangeEvent> listener) {
+		return changeJournal.subscribe(resumeToken, listener);
+	}
+
+	/**
+	 * Abonne un observateur au journal local des changements de la registry,
+	 * en signalant son retrait s’il est trop lent.
+	 *
+	 * @param resumeToken jeton du dernier événement reçu, ou {@code null}
+	 * @param listener    observateur des changements
+	 * @param onDropped   action exécutée au retrait de l’observateur
+	 * @return l’abonnement
+	 */
+	@Override
+	public RegistryWatch watch(String resumeToken, Consumer<RegistryChangeEvent> listener, Runnable onDropped) {
+		return changeJournal.subscribe(resumeToken, listener, onDropped);
+	}
+
+	/**
+	 * Recherche les instances correspondant aux critères via un prédicat
+	 * Hazelcast évalué sur les partitions (index sur {@code serviceName},
+	 * {@code features[any]} et les métadonnées déclarées).
+	 * <p>
+	 * En mode client, les membres du cluster ne connaissent ni
+	 * {@link ServiceDescriptor} ni l’extracteur {@code meta[...]} : les critères
+	 * de service et de feature sont évalués localement sur la table de routage,
+	 * les critères de métadonnées sont refusés.
+	 * </p>
+	 *
+	 * @param query critères de recherche
+	 * @return descripteurs correspondants
+	 * @throws UnsupportedOperationException critères de métadonnées en mode
+	 *                                       client
+	 */
+	@Override
+	public List<ServiceDescriptor> findInstances(ServiceQuery query) {
+		if (clientMode) {
+			return findInstancesLocally(query);
+		}
+		List<Predicate<String, ServiceDescriptor>> criteria = new ArrayList<>();
+		if (query.getServiceName() != null) {
+			criteria.add(Predicates.equal("serviceName", query.getServiceName()));
+		}
+		if (query.getFeature() != null) {
+			criteria.add(Predicates.equal("features[any]", query.getFeature()));
+		}
+		if (query.getMetadata() != null) {
+			query.getMetadata().forEach(
+					(key, value) -> criteria.add(Predicates.equal(MetadataValueExtractor.attribute(key), value)));
+		}
+		if (criteria.isEmpty()) {
+			return List.copyOf(getRegistryMap().values());
+		}
+		Predicate<String, ServiceDescriptor> predicate = criteria.get(0);
+		for (int i = 1; i < criteria.size(); i++) {
+			predicate = Predicates.and(predicate, criteria.get(i));
+		}
+		return List.copyOf(getRegistryMap().values(predicate));
+	}
+
+	/**
+	 * Évalue les critères de service et de feature sur l’instantané de la table
+	 * de routage (mode client).
+	 *
+	 * @param query critères de recherche
+	 * @return descripteurs correspondants
+	 */
+	private List<ServiceDescriptor> findInstancesLocally(ServiceQuery query) {
+		if (query.getMetadata() != null && !query.getMetadata().isEmpty()) {
+			throw new UnsupportedOperationException(
+					"Critères de métadonnées non pris en charge en mode client Hazelcast : " + query.getMetadata().keySet());
+		}
+		String serviceName = query.getServiceName();
+		String feature = query.getFeature();
+		List<ServiceDescriptor> candidates;
+		if (serviceName != null || feature != null) {
+			RegistryRoutingTable.Route route = serviceName != null ? routingTable.getServiceRoute(serviceName)
+					: routingTable.getFeatureRoute(feature);
+			candidates = route == null ? List.of() : route.instances();
+		} else {
+			candidates = routingTable.getDescriptors();
+		}
+		return candidates.stream()
+				.filter(d -> serviceName == null || serviceName.equals(d.getServiceName()))
+				.filter(d -> feature == null || d.getFeatures() != null && d.getFeatures().contains(feature))
+				.toList();
 	}
 
 	/**
@@ -295,42 +694,75 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	}
 
 	/**
-	 * Sélectionne aléatoirement une URL parmi celles extraites d'un flux de {@link ServiceDescriptor}.
+	 * Résout l’URL interne (cluster) d’un service depuis la table de routage
+	 * locale.
 	 *
-	 * @param stream le flux de descripteurs de service
-	 * @param extractor fonction permettant d’extraire l’URL depuis un descripteur
-	 * @return une URL choisie au hasard parmi celles extraites, ou null s'il n'y en a aucune
+	 * @param serviceName nom logique
+	 * @return URL interne ou null si non trouvé
 	 */
-	protected String pickRandomUrl(Stream<ServiceDescriptor> stream, Function<ServiceDescriptor, String> extractor) {
-		List<String> urls = stream.map(extractor).filter(Objects::nonNull).toList();
-
-		if (urls.isEmpty())
-			return null;
-		return urls.get(ThreadLocalRandom.current().nextInt(urls.size()));
+	@Override
+	public String resolveInternalServiceUrl(String serviceName) {
+		return resolve("service", serviceName, routingTable.getServiceRoute(serviceName), Route::internal);
 	}
 
 	/**
-	 * Résout l’URL interne (cluster) d’un service.
+	 * Résout l’URL interne d’un service associée à une clé de routage, via
+	 * l’anneau de hachage cohérent du service. Les instances écartées par les
+	 * {@link CandidateFilter} cèdent leurs clés à leurs successeurs sur
+	 * l’anneau.
 	 *
 	 * @param serviceName nom logique
+	 * @param routingKey  clé de routage (utilisateur, tenant, ...)
 	 * @return URL interne ou null si non trouvé
 	 */
 	@Override
-	public String resolveInternalServiceUrl(String serviceName) {
-		return pickRandomUrl(getRegistryMap().values().stream().filter(d -> d.getServiceName().equals(serviceName)),
-				ServiceDescriptor::getInternalBaseUrl);
+	public String resolveInternalServiceUrl(String serviceName, String routingKey) {
+		if (routingKey == null)
+			return resolveInternalServiceUrl(serviceName);
+		long start = startTimer();
+		Route route = routingTable.getServiceRoute(serviceName);
+		Candidates candidates = filter(serviceName, route == null ? Candidates.EMPTY : route.internal(), true);
+		String url = candidates.size() == 0 ? null
+				: stickyRouting.resolve(serviceName, route, candidates, routingKey);
+		recordResolution("service", serviceName, route, start, candidates.size());
+		return url;
 	}
 
 	/**
-	 * Résout l’URL externe (reverse proxy) d’un service.
+	 * Résout l’URL interne de plusieurs services depuis un même instantané de
+	 * la table de routage.
+	 *
+	 * @param serviceNames noms logiques
+	 * @return map serviceName → résolution, dans l’ordre de la demande
+	 */
+	@Override
+	public Map<String, ServiceResolution> resolveAll(Collection<String> serviceNames) {
+		Map<String, Route> routes = routingTable.getServiceRoutes(serviceNames);
+		Map<String, ServiceResolution> result = new LinkedHashMap<>();
+		for (String serviceName : serviceNames) {
+			if (serviceName == null || result.containsKey(serviceName))
+				continue;
+			long start = startTimer();
+			Route route = routes.get(serviceName);
+			Candidates candidates = filter(serviceName, route == null ? Candidates.EMPTY : route.internal(), false);
+			String url = candidates.size() == 0 ? null
+					: loadBalancers.forKey(serviceName).choose(serviceName, candidates);
+			recordResolution("service", serviceName, route, start, candidates.size());
+			result.put(serviceName, new ServiceResolution(url, List.of(candidates.urls())));
+		}
+		return result;
+	}
+
+	/**
+	 * Résout l’URL externe (reverse proxy) d’un service depuis la table de
+	 * routage locale.
 	 *
 	 * @param serviceName nom logique
 	 * @return URL externe ou null si non trouvé
 	 */
 	@Override
 	public String resolveExternalServiceUrl(String serviceName) {
-		return pickRandomUrl(getRegistryMap().values().stream().filter(d -> serviceName.equals(d.getServiceName())),
-				ServiceDescriptor::getExternalBaseUrl);
+		return resolve("service", serviceName, routingTable.getServiceRoute(serviceName), Route::external);
 	}
 
 	/**
@@ -341,9 +773,7 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	 */
 	@Override
 	public String resolveInternalFeatureUrl(String feature) {
-		return pickRandomUrl(
-				getRegistryMap().values().stream().filter(d -> selfInstance.getEnabledFeatures().contains(feature)),
-				ServiceDescriptor::getInternalBaseUrl);
+		return resolve("feature", feature, routingTable.getFeatureRoute(feature), Route::internal);
 	}
 
 	/**
@@ -354,9 +784,104 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	 */
 	@Override
 	public String resolveExternalFeatureUrl(String feature) {
-		return pickRandomUrl(
-				getRegistryMap().values().stream().filter(d -> selfInstance.getEnabledFeatures().contains(feature)),
-				ServiceDescriptor::getExternalBaseUrl);
+		return resolve("feature", feature, routingTable.getFeatureRoute(feature), Route::external);
+	}
+
+	/**
+	 * Choisit une URL parmi les candidates d’une route, après application des
+	 * {@link CandidateFilter}, et mesure la résolution.
+	 *
+	 * @param kind  {@code service} ou {@code feature}
+	 * @param key   nom du service ou de la feature
+	 * @param route route précalculée, éventuellement {@code null}
+	 * @param side  candidates internes ou externes de la route
+	 * @return URL choisie ou null si aucune candidate
+	 */
+	private String resolve(String kind, String key, Route route, Function<Route, Candidates> side) {
+		long start = startTimer();
+		Candidates candidates = filter(key, route == null ? Candidates.EMPTY : side.apply(route), false);
+		String url = candidates.size() == 0 ? null : loadBalancers.forKey(key).choose(key, candidates);
+		recordResolution(kind, key, route, start, candidates.size());
+		return url;
+	}
+
+	/**
+	 * Horodate le début d’une résolution, sauf sans instrumentation.
+	 */
+	private long startTimer() {
+		return metrics == RegistryMetrics.NOOP ? 0L : System.nanoTime();
+	}
+
+	/**
+	 * Mesure une résolution commencée à {@code start}, sauf sans
+	 * instrumentation.
+	 */
+	private void recordResolution(String kind, String key, Route route, long start, int candidates) {
+		if (metrics == RegistryMetrics.NOOP)
+			return;
+		metrics.resolution(kind, metricName(key, route), System.nanoTime() - start, candidates);
+	}
+
+	/**
+	 * Nom sous lequel une résolution est mesurée : les noms sans route (saisis
+	 * librement, par exemple via {@code /resolve}) sont regroupés afin de borner
+	 * le nombre de séries.
+	 */
+	private static String metricName(String key, Route route) {
+		return route == null ? RegistryMetrics.UNKNOWN_NAME : key;
+	}
+
+	/**
+	 * Applique les {@link CandidateFilter} aux candidates d’une route.
+	 *
+	 * @param key        nom du service ou de la feature
+	 * @param candidates candidates de la route
+	 * @param routingKey {@code true} pour une résolution par clé de routage
+	 * @return candidates retenues
+	 */
+	private Candidates filter(String key, Candidates candidates, boolean routingKey) {
+		for (CandidateFilter filter : filters) {
+			if (candidates.size() == 0)
+				break;
+			if (!routingKey || filter.appliesToRoutingKeys())
+				candidates = filter.filter(key, candidates);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Retire une instance de la table de routage et libère l’état conservé par
+	 * les filtres.
+	 *
+	 * @param instanceId identifiant de l’instance retirée
+	 */
+	private void forget(String instanceId) {
+		ServiceDescriptor removed = routingTable.remove(instanceId);
+		if (removed == null)
+			return;
+		for (CandidateFilter filter : filters) {
+			filter.instanceRemoved(removed);
+		}
+	}
+
+	/**
+	 * En démarrage asynchrone, maintient la readiness à
+	 * {@link ReadinessState#REFUSING_TRAFFIC} tant que le cluster n’est pas
+	 * rejoint : Spring Boot la passe à {@code ACCEPTING_TRAFFIC} dès la fin de
+	 * son propre démarrage, la registry la rétablit une fois le cluster rejoint.
+	 *
+	 * @param event changement de readiness
+	 */
+	@EventListener
+	public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+		if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || hazelcast != null && started.isDone())
+			return;
+		readinessGated = true;
+		log.info("ℹ️ Readiness refusée en attendant le cluster Hazelcast");
+		AvailabilityChangeEvent.publish(springContext, ReadinessState.REFUSING_TRAFFIC);
+		if (hazelcast != null && started.isDone()) {
+			AvailabilityChangeEvent.publish(springContext, ReadinessState.ACCEPTING_TRAFFIC);
+		}
 	}
 
 	/**
@@ -373,30 +898,57 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 	 * Publie l’instance locale dans la registry Hazelcast.
 	 */
 	public void registerSelf() {
-		if (selfInstance == null)
-			return;
+		if (selfInstance == null || hazelcast == null)
+			return; // publiée à l’arrivée dans le cluster
 
 		var descriptor = selfInstance.toServiceDescriptor();
 
-		String hazelcastUuid = hazelcast.getCluster().getLocalMember().getUuid().toString();
+		String hazelcastUuid = hazelcast.getLocalEndpoint().getUuid().toString();
 		Map<String, String> enrichedMetadata = descriptor.getMetadata() != null
 				? new HashMap<>(descriptor.getMetadata())
 				: new HashMap<>();
+		enrichedMetadata.putAll(selfMetadata);
 		enrichedMetadata.put(INTERNAL_KEY_HAZELCAST_UUID, hazelcastUuid);
+		if (selfInstance.getInternalIp() != null) {
+			enrichedMetadata.put(LocalityFilter.HOST_METADATA_KEY, selfInstance.getInternalIp());
+		}
 		descriptor.setMetadata(enrichedMetadata);
 
 		getRegistryMap().put(selfInstance.getInstanceId(), descriptor);
+		// Visibilité locale immédiate, sans attendre l’événement asynchrone
+		routingTable.upsert(descriptor);
 		log.info("✅ Publication selfInstance avec UUID Hazelcast : {} → {}", hazelcastUuid,
 				descriptor.getInstanceId());
 	}
 
 	private class HazelcastClusterListener implements MembershipListener, com.hazelcast.core.LifecycleListener {
 
+		/**
+		 * Supprime les descripteurs publiés par un membre sorti du cluster.
+		 * <p>
+		 * En mode membre, seul le plus ancien membre effectue le nettoyage, via un
+		 * unique {@code removeAll} indexé exécuté côté partitions. En mode client,
+		 * les membres n’embarquant pas forcément la librairie, le nettoyage reste
+		 * fait depuis le client.
+		 * </p>
+		 */
 		@Override
 		public void memberRemoved(MembershipEvent event) {
 			String removedUuid = event.getMember().getUuid().toString();
+			metrics.membership("removed");
 			log.warn("⚠️ Membre Hazelcast supprimé : {}", removedUuid);
 
+			if (!clientMode) {
+				if (!isOldestMember()) {
+					log.debug("ℹ️ Nettoyage délégué au plus ancien membre du cluster");
+					return;
+				}
+				getRegistryMap().removeAll(
+						Predicates.equal(MetadataValueExtractor.attribute(INTERNAL_KEY_HAZELCAST_UUID), removedUuid));
+				log.info("✅ Instances orphelines du membre {} supprimées", removedUuid);
+				return;
+			}
+
 			int count = 0;
 			for (Map.Entry<String, ServiceDescriptor> entry : getRegistryMap().entrySet()) {
 				ServiceDescriptor desc = entry.getValue();
@@ -417,8 +969,14 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 			}
 		}
 
+		private boolean isOldestMember() {
+			var members = hazelcast.getCluster().getMembers();
+			return !members.isEmpty() && members.iterator().next().localMember();
+		}
+
 		@Override
 		public void memberAdded(MembershipEvent event) {
+			metrics.membership("added");
 			log.info("✅ Nouveau membre Hazelcast détecté : {}", event.getMember().getUuid());
 		}
 
@@ -427,8 +985,13 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 			switch (event.getState()) {
 			case MERGED:
 				log.info("✅ Hazelcast MERGED – Réenregistrement dans la registry");
+				reloadRoutingTable();
 				registerSelf();
 				break;
+			case CLIENT_CONNECTED:
+				log.info("✅ Client Hazelcast (re)connecté – Rechargement de la table de routage");
+				reloadRoutingTable();
+				break;
 			case STARTED:
 				if (selfInstance != null) {
 					log.info("✅ Hazelcast STARTED – Re-publication post-redémarrage");
@@ -443,6 +1006,52 @@ public class HazelcastServiceRegistry implements ServiceRegistry {
 		}
 	}
 	
+	/**
+	 * Répercute les modifications de la map Hazelcast dans la table de routage
+	 * locale et dans le journal des changements.
+	 */
+	private class RegistryEntryListener implements EntryAddedListener<String, ServiceDescriptor>,
+			EntryUpdatedListener<String, ServiceDescriptor>, EntryRemovedListener<String, ServiceDescriptor>,
+			EntryEvictedListener<String, ServiceDescriptor>, EntryExpiredListener<String, ServiceDescriptor>,
+			MapClearedListener {
+
+		@Override
+		public void entryAdded(EntryEvent<String, ServiceDescriptor> event) {
+			routingTable.upsert(event.getValue());
+			changeJournal.append(RegistryChangeEvent.Type.ADDED, event.getKey(), event.getValue());
+		}
+
+		@Override
+		public void entryUpdated(EntryEvent<String, ServiceDescriptor> event) {
+			routingTable.upsert(event.getValue());
+			changeJournal.append(RegistryChangeEvent.Type.UPDATED, event.getKey(), event.getValue());
+		}
+
+		@Override
+		public void entryRemoved(EntryEvent<String, ServiceDescriptor> event) {
+			forget(event.getKey());
+			changeJournal.append(RegistryChangeEvent.Type.REMOVED, event.getKey(), null);
+		}
+
+		@Override
+		public void entryEvicted(EntryEvent<String, ServiceDescriptor> event) {
+			forget(event.getKey());
+			changeJournal.append(RegistryChangeEvent.Type.REMOVED, event.getKey(), null);
+		}
+
+		@Override
+		public void entryExpired(EntryEvent<String, ServiceDescriptor> event) {
+			forget(event.getKey());
+			changeJournal.append(RegistryChangeEvent.Type.REMOVED, event.getKey(), null);
+		}
+
+		@Override
+		public void mapCleared(MapEvent event) {
+			routingTable.clear();
+			changeJournal.resync();
+		}
+	}
+
 	private void logHazelcastDiagnostics() {
 	    try {
 	        // 1) Version réellement chargée
@@ -0,0 +1,36 @@
+package com.r3edge.cloudregistry;
+
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+
+/**
+ * Extracteur Hazelcast exposant les métadonnées d’un {@link ServiceDescriptor}
+ * comme attribut interrogeable.
+ * <p>
+ * Déclaré sur la map de la registry sous le nom
+ * {@value #ATTRIBUTE_NAME}, il permet d’écrire des prédicats (et de poser des
+ * index) de la forme {@code meta[zone]}.
+ * </p>
+ */
+public class MetadataValueExtractor implements ValueExtractor<ServiceDescriptor, String> {
+
+	/** Nom de l’attribut de requête associé à cet extracteur */
+	public static final String ATTRIBUTE_NAME = "meta";
+
+	/**
+	 * Construit le chemin d’attribut d’une clé de métadonnée.
+	 *
+	 * @param key clé de métadonnée
+	 * @return attribut utilisable dans un prédicat ou un index (ex: {@code meta[zone]})
+	 */
+	public static String attribute(String key) {
+		return ATTRIBUTE_NAME + "[" + key + "]";
+	}
+
+	@Override
+	public void extract(ServiceDescriptor target, String argument, ValueCollector<Object> collector) {
+		if (target.getMetadata() != null && argument != null) {
+			collector.addObject(target.getMetadata().get(argument));
+		}
+	}
+}
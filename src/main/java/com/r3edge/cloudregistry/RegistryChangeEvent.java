@@ -0,0 +1,46 @@
+package com.r3edge.cloudregistry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changement survenu dans la registry, diffusé aux observateurs de
+ * {@link ServiceRegistry#watch(String, java.util.function.Consumer)}.
+ * <p>
+ * Une resynchronisation complète est signalée par un événement {@link Type#RESET}
+ * suivi d’un événement {@link Type#SNAPSHOT} par instance connue : l’observateur
+ * doit alors vider sa vue locale avant d’appliquer les instantanés.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistryChangeEvent {
+
+    /** Nature du changement */
+    public enum Type {
+        /** Nouvelle instance */
+        ADDED,
+        /** Descripteur d'une instance mis à jour */
+        UPDATED,
+        /** Instance retirée (départ, arrêt, expiration) */
+        REMOVED,
+        /** Début d'une resynchronisation complète */
+        RESET,
+        /** Instance présente lors d'une resynchronisation complète */
+        SNAPSHOT
+    }
+
+    /** Jeton de reprise : à renvoyer pour reprendre le flux après cet événement */
+    private String token;
+
+    /** Nature du changement */
+    private Type type;
+
+    /** Identifiant de l'instance concernée ({@code null} pour {@link Type#RESET}) */
+    private String instanceId;
+
+    /** Descripteur courant ({@code null} pour {@link Type#REMOVED} et {@link Type#RESET}) */
+    private ServiceDescriptor descriptor;
+}
@@ -0,0 +1,329 @@
+package com.r3edge.cloudregistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.r3edge.cloudregistry.RegistryChangeEvent.Type;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journal local et borné des changements de la registry, alimenté par le
+ * listener de la map Hazelcast.
+ * <p>
+ * Chaque événement porte un jeton de reprise {@code <epoch>-<séquence>}. Un
+ * observateur qui se réabonne avec un jeton encore présent dans le journal
+ * reçoit uniquement les deltas manqués ; sinon (jeton absent, trop ancien, ou
+ * émis par un autre nœud / avant une resynchronisation) il reçoit une
+ * resynchronisation complète.
+ * </p>
+ * <p>
+ * Les événements sont délivrés à chaque observateur dans l’ordre des
+ * séquences, hors du verrou du journal et hors du thread appelant : chaque
+ * observateur dispose d’une file bornée, vidée par un thread dédié. Un
+ * observateur qui accumule plus de {@code queueCapacity} changements en
+ * attente est retiré : ses changements en attente sont abandonnés et il reçoit
+ * un dernier {@link Type#RESET} sans jeton, signifiant qu’il doit se réabonner
+ * avec le dernier jeton reçu.
+ * </p>
+ */
+@Slf4j
+public class RegistryChangeJournal {
+
+	private final RegistryChangeEvent[] ring;
+	private final Supplier<Collection<ServiceDescriptor>> snapshotSupplier;
+	private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+	private final int queueCapacity;
+	private final Executor executor;
+	private final ExecutorService ownedExecutor;
+
+	private String epoch = newEpoch();
+	private long nextSequence = 1;
+
+	/**
+	 * Construit un journal dont les observateurs sont servis par des threads
+	 * démons dédiés.
+	 *
+	 * @param capacity         nombre maximal d’événements conservés pour la reprise
+	 * @param queueCapacity    nombre maximal de changements en attente par observateur
+	 * @param snapshotSupplier source de l’état courant pour les resynchronisations
+	 */
+	public RegistryChangeJournal(int capacity, int queueCapacity,
+			Supplier<Collection<ServiceDescriptor>> snapshotSupplier) {
+		this(capacity, queueCapacity, Executors.newCachedThreadPool(r -> {
+			Thread t = new Thread(r, "r3edge-registry-watch");
+			t.setDaemon(true);
+			return t;
+		}), snapshotSupplier);
+	}
+
+	RegistryChangeJournal(int capacity, int queueCapacity, Executor executor,
+			Supplier<Collection<ServiceDescriptor>> snapshotSupplier) {
+		this.ring = new RegistryChangeEvent[Math.max(1, capacity)];
+		this.queueCapacity = Math.max(1, queueCapacity);
+		this.executor = executor;
+		this.ownedExecutor = executor instanceof ExecutorService service ? service : null;
+		this.snapshotSupplier = snapshotSupplier;
+	}
+
+	/**
+	 * Ajoute un changement au journal et le diffuse aux observateurs.
+	 *
+	 * @param type       nature du changement
+	 * @param instanceId identifiant de l’instance
+	 * @param descriptor descripteur courant, ou {@code null} pour une suppression
+	 */
+	public synchronized void append(Type type, String instanceId, ServiceDescriptor descriptor) {
+		long sequence = nextSequence++;
+		RegistryChangeEvent event = new RegistryChangeEvent(token(sequence), type, instanceId, descriptor);
+		ring[(int) (sequence % ring.length)] = event;
+		for (Subscription subscription : subscribers) {
+			if (!subscription.offer(event)) {
+				subscribers.remove(subscription);
+			}
+		}
+	}
+
+	/**
+	 * Invalide les jetons existants et envoie une resynchronisation complète aux
+	 * observateurs actifs (après un merge de cluster ou une reconnexion, lorsque
+	 * des événements ont pu être manqués).
+	 */
+	public synchronized void resync() {
+		epoch = newEpoch();
+		nextSequence = 1;
+		Arrays.fill(ring, null);
+		for (Subscription subscription : subscribers) {
+			if (!sendSnapshot(subscription)) {
+				subscribers.remove(subscription);
+			}
+		}
+	}
+
+	/**
+	 * Abonne un observateur, en reprenant après le jeton fourni lorsque c’est
+	 * possible.
+	 *
+	 * @param resumeToken jeton du dernier événement reçu, ou {@code null}
+	 * @param subscriber  observateur
+	 * @return l’abonnement, à annuler lorsque l’observateur se déconnecte
+	 */
+	public RegistryWatch subscribe(String resumeToken, Consumer<RegistryChangeEvent> subscriber) {
+		return subscribe(resumeToken, subscriber, () -> { });
+	}
+
+	/**
+	 * Abonne un observateur, en reprenant après le jeton fourni lorsque c’est
+	 * possible.
+	 *
+	 * @param resumeToken jeton du dernier événement reçu, ou {@code null}
+	 * @param subscriber  observateur
+	 * @param onDropped   appelé après le {@link Type#RESET} final d’un observateur retiré car trop lent
+	 * @return l’abonnement, à annuler lorsque l’observateur se déconnecte
+	 */
+	public synchronized RegistryWatch subscribe(String resumeToken, Consumer<RegistryChangeEvent> subscriber,
+			Runnable onDropped) {
+		Subscription subscription = new Subscription(subscriber, onDropped);
+		long from = resumeSequence(resumeToken);
+		if (from >= 0) {
+			// le rattrapage n’est pas compté dans la capacité : il est borné par le journal
+			for (long seq = from + 1; seq < nextSequence; seq++) {
+				subscription.enqueue(ring[(int) (seq % ring.length)]);
+			}
+		} else {
+			sendSnapshot(subscription);
+		}
+		subscribers.add(subscription);
+		subscription.schedule();
+		return subscription::cancel;
+	}
+
+	/**
+	 * Retourne le nombre d’observateurs actifs.
+	 *
+	 * @return nombre d’abonnements en cours
+	 */
+	public synchronized int subscriberCount() {
+		return subscribers.size();
+	}
+
+	/**
+	 * Arrête les threads de diffusion créés par le journal.
+	 */
+	public void close() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdownNow();
+		}
+	}
+
+	private void unsubscribe(Subscription subscription) {
+		subscribers.remove(subscription);
+	}
+
+	/**
+	 * Retourne la séquence après laquelle reprendre, ou -1 si une
+	 * resynchronisation complète est nécessaire.
+	 */
+	private long resumeSequence(String resumeToken) {
+		if (resumeToken == null || !resumeToken.startsWith(epoch + "-"))
+			return -1;
+		try {
+			long sequence = Long.parseLong(resumeToken.substring(epoch.length() + 1));
+			long oldest = Math.max(1, nextSequence - ring.length);
+			return sequence >= oldest - 1 && sequence < nextSequence ? sequence : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Remplace les changements en attente d’un observateur par une
+	 * resynchronisation complète (non comptée dans sa capacité).
+	 */
+	private boolean sendSnapshot(Subscription subscription) {
+		if (subscription.closed.get())
+			return false;
+		subscription.queue.clear();
+		subscription.pending.set(0);
+		String current = token(nextSequence - 1);
+		subscription.enqueue(new RegistryChangeEvent(current, Type.RESET, null, null));
+		for (ServiceDescriptor d : snapshotSupplier.get()) {
+			subscription.enqueue(new RegistryChangeEvent(current, Type.SNAPSHOT, d.getInstanceId(), d));
+		}
+		subscription.schedule();
+		return true;
+	}
+
+	/**
+	 * Abonnement d’un observateur : file de changements en attente, vidée hors
+	 * du verrou du journal par au plus un thread à la fois.
+	 */
+	private final class Subscription {
+
+		private final Consumer<RegistryChangeEvent> subscriber;
+		private final Runnable onDropped;
+		private final Queue<RegistryChangeEvent> queue = new ConcurrentLinkedQueue<>();
+		/** Changements en attente comptés dans la capacité (hors rattrapage et resynchronisation) */
+		private final AtomicInteger pending = new AtomicInteger();
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private final AtomicBoolean closed = new AtomicBoolean();
+		private volatile boolean dropped;
+
+		private Subscription(Consumer<RegistryChangeEvent> subscriber, Runnable onDropped) {
+			this.subscriber = subscriber;
+			this.onDropped = onDropped;
+		}
+
+		/**
+		 * Met un changement en file (appelé sous le verrou du journal).
+		 *
+		 * @return {@code false} si l’observateur est retiré
+		 */
+		private boolean offer(RegistryChangeEvent event) {
+			if (closed.get())
+				return false;
+			if (pending.incrementAndGet() > queueCapacity) {
+				log.warn("⚠️ Observateur de la registry trop lent ({} changements en attente), retiré", queueCapacity);
+				closed.set(true);
+				queue.clear();
+				queue.add(new RegistryChangeEvent(null, Type.RESET, null, null));
+				dropped = true; // après l’ajout : le thread de diffusion verra le RESET final
+				schedule();
+				return false;
+			}
+			queue.add(event);
+			schedule();
+			return true;
+		}
+
+		private void enqueue(RegistryChangeEvent event) {
+			queue.add(event);
+		}
+
+		private void schedule() {
+			if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+				try {
+					executor.execute(this::drain);
+				} catch (RuntimeException e) {
+					draining.set(false); // arrêt en cours
+				}
+			}
+		}
+
+		private void drain() {
+			try {
+				if (!deliverPending())
+					return;
+				if (dropped) {
+					if (deliverPending()) {
+						runQuietly(onDropped);
+					}
+					return;
+				}
+			} finally {
+				draining.set(false);
+			}
+			schedule();
+		}
+
+		/**
+		 * Délivre les changements en file.
+		 *
+		 * @return {@code false} si l’observateur a échoué et a été retiré
+		 */
+		private boolean deliverPending() {
+			RegistryChangeEvent event;
+			while ((event = queue.poll()) != null) {
+				if (isDelta(event)) {
+					pending.updateAndGet(n -> n > 0 ? n - 1 : 0);
+				}
+				try {
+					subscriber.accept(event);
+				} catch (RuntimeException e) {
+					log.debug("ℹ️ Observateur de la registry retiré : {}", e.getMessage());
+					cancel();
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static void runQuietly(Runnable action) {
+			try {
+				action.run();
+			} catch (RuntimeException e) {
+				log.debug("ℹ️ Fermeture de l’observateur de la registry : {}", e.getMessage());
+			}
+		}
+
+		private void cancel() {
+			closed.set(true);
+			queue.clear();
+			unsubscribe(this);
+		}
+
+		private static boolean isDelta(RegistryChangeEvent event) {
+			return event.getType() != Type.RESET && event.getType() != Type.SNAPSHOT;
+		}
+	}
+
+	private String token(long sequence) {
+		return epoch + "-" + sequence;
+	}
+
+	private static String newEpoch() {
+		return UUID.randomUUID().toString().substring(0, 8);
+	}
+}
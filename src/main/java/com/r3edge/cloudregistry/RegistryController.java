@@ -1,12 +1,18 @@
 package com.r3edge.cloudregistry;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.r3edge.springflip.FlipBean;
 
@@ -25,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 public class RegistryController {
 
 	private final ServiceRegistry serviceRegistry;
+	private final ServiceRegistryProperties properties;
 	@Value("${r3edge.registry.base-path:/registry}")
 	private String basePath;
 
@@ -67,6 +74,61 @@ public class RegistryController {
         return descriptor;
 	}
 
+	/**
+	 * Résout en une fois plusieurs services, depuis un même instantané de la
+	 * registry.
+	 *
+	 * @param services noms des services ({@code ?service=a&service=b})
+	 * @return map service → URL interne choisie et candidates
+	 */
+	@GetMapping("${r3edge.registry.base-path:/registry}/resolve")
+	public Map<String, ServiceResolution> resolve(@RequestParam(name = "service") List<String> services) {
+		log.debug("[GET] /resolve — Résolution de {} services", services.size());
+		return serviceRegistry.resolveAll(services);
+	}
+
+	/**
+	 * Diffuse les changements de la registry en Server-Sent Events.
+	 * <p>
+	 * Chaque événement SSE porte le jeton de reprise en {@code id} : un client
+	 * qui se reconnecte avec {@code Last-Event-ID} (ou {@code ?since=}) ne reçoit
+	 * que les deltas manqués, ou une resynchronisation complète si le jeton
+	 * n’est plus valide.
+	 * </p>
+	 * <p>
+	 * Les envois sont faits hors du thread des événements Hazelcast. Un client
+	 * trop lent reçoit un événement {@code reset} sans {@code id} puis le flux
+	 * est fermé : EventSource se reconnecte avec le dernier {@code id} reçu.
+	 * </p>
+	 *
+	 * @param since       jeton de reprise explicite (prioritaire)
+	 * @param lastEventId jeton de reprise envoyé automatiquement par EventSource
+	 * @return flux SSE des {@link RegistryChangeEvent}
+	 */
+	@GetMapping(path = "${r3edge.registry.base-path:/registry}/watch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter watch(@RequestParam(name = "since", required = false) String since,
+			@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+		String resumeToken = since != null ? since : lastEventId;
+		log.debug("[GET] /watch — Abonnement (reprise: {})", resumeToken);
+		SseEmitter emitter = new SseEmitter(properties.getWatch().getTimeout().toMillis());
+		RegistryWatch watch = serviceRegistry.watch(resumeToken, event -> {
+			try {
+				SseEmitter.SseEventBuilder sse = SseEmitter.event().name(event.getType().name().toLowerCase())
+						.data(event, MediaType.APPLICATION_JSON);
+				if (event.getToken() != null) {
+					sse.id(event.getToken());
+				}
+				emitter.send(sse);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, emitter::complete);
+		emitter.onCompletion(watch::cancel);
+		emitter.onTimeout(watch::cancel);
+		emitter.onError(e -> watch.cancel());
+		return emitter;
+	}
+
 	/**
 	 * Initialisation post-construction.
 	 */
@@ -0,0 +1,44 @@
+package com.r3edge.cloudregistry;
+
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.r3edge.cloudregistry.cache.MergeEntryProcessor;
+
+/**
+ * Fabrique {@link IdentifiedDataSerializable} des objets échangés par la
+ * registry via Hazelcast.
+ * <p>
+ * Elle est enregistrée automatiquement par {@link HazelcastServiceRegistry}
+ * dans la configuration membre ou client, ce qui évite la sérialisation Java
+ * (descripteurs de classe, réflexion) à chaque lecture, écriture, réplication
+ * ou migration de la map de la registry.
+ * </p>
+ */
+public class RegistryDataSerializableFactory implements DataSerializableFactory {
+
+	/** Identifiant de la fabrique dans la configuration de sérialisation Hazelcast */
+	public static final int FACTORY_ID = 0x52336564;
+
+	/** Identifiant de classe de {@link ServiceDescriptor} */
+	public static final int SERVICE_DESCRIPTOR = 1;
+
+	/** Identifiant de classe de {@link RemoveFeatureEntryProcessor} */
+	public static final int REMOVE_FEATURE_PROCESSOR = 2;
+
+	/** Identifiant de classe de {@link MergeEntryProcessor} */
+	public static final int MERGE_PROCESSOR = 3;
+
+	/** Identifiant de classe de {@link UpdateMetadataEntryProcessor} */
+	public static final int UPDATE_METADATA_PROCESSOR = 4;
+
+	@Override
+	public IdentifiedDataSerializable create(int typeId) {
+		return switch (typeId) {
+		case SERVICE_DESCRIPTOR -> new ServiceDescriptor();
+		case REMOVE_FEATURE_PROCESSOR -> new RemoveFeatureEntryProcessor();
+		case MERGE_PROCESSOR -> new MergeEntryProcessor();
+		case UPDATE_METADATA_PROCESSOR -> new UpdateMetadataEntryProcessor();
+		default -> null;
+		};
+	}
+}
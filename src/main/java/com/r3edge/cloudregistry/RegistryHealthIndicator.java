@@ -0,0 +1,53 @@
+package com.r3edge.cloudregistry;
+
+import java.util.concurrent.CompletionException;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Indicateur de santé de la registry Hazelcast, exposé sous {@code /actuator/health}
+ * lorsque Actuator est présent dans le classpath.
+ * <p>
+ * {@code OUT_OF_SERVICE} pendant un démarrage asynchrone ou après son échec
+ * (la résolution est alors servie par l’instantané disque, s’il existe),
+ * {@code DOWN} si l’instance est arrêtée, {@code UP} sinon.
+ * </p>
+ */
+@Component("registryHealthIndicator")
+@ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+@ConditionalOnProperty(prefix = "r3edge.registry", name = "strategy", havingValue = "hazelcast")
+@RequiredArgsConstructor
+public class RegistryHealthIndicator implements HealthIndicator {
+
+	private final HazelcastServiceRegistry registry;
+
+	@Override
+	public Health health() {
+		HazelcastInstance hazelcast;
+		try {
+			hazelcast = registry.whenStarted().getNow(null);
+		} catch (CompletionException e) {
+			// Échec définitif du démarrage : l’instance reste utilisable sur l’instantané disque
+			return Health.outOfService().withDetail("hazelcast", "failed")
+					.withException(e.getCause() != null ? e.getCause() : e).build();
+		}
+		if (hazelcast == null) {
+			return Health.outOfService().withDetail("hazelcast", "starting").build();
+		}
+		if (!hazelcast.getLifecycleService().isRunning()) {
+			return Health.down().withDetail("hazelcast", "stopped").build();
+		}
+		return Health.up()
+				.withDetail("mode", registry.isClientMode() ? "client" : "member")
+				.withDetail("members", hazelcast.getCluster().getMembers().size())
+				.build();
+	}
+}
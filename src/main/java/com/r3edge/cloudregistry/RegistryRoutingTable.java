@@ -0,0 +1,334 @@
+package com.r3edge.cloudregistry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.r3edge.cloudregistry.loadbalancer.Candidates;
+
+/**
+ * Table de routage locale au membre, alimentée par les événements de la map
+ * Hazelcast {@code r3edge-service-registry}.
+ * <p>
+ * Les URLs de chaque service et de chaque feature sont précalculées sous forme
+ * de tableaux ({@link Candidates}) lors des écritures (rares) afin que la résolution (fréquente) se
+ * limite à une lecture en mémoire, sans appel réseau ni allocation. L’index des
+ * features est construit à partir de {@link ServiceDescriptor#getFeatures()}.
+ * </p>
+ * <p>
+ * Les écritures sont sérialisées ; les lectures s’appuient sur un instantané
+ * immuable publié de manière volatile (copy-on-write). Un événement ne
+ * recalcule que les routes du service et des features concernés : les autres
+ * routes sont reprises telles quelles de l’instantané précédent.
+ * </p>
+ */
+public class RegistryRoutingTable {
+
+	/** Descripteurs connus, indexés par instanceId (protégé par {@code this}). */
+	private final Map<String, ServiceDescriptor> descriptors = new HashMap<>();
+
+	/** Instances par service (protégé par {@code this}). */
+	private final Map<String, Map<String, ServiceDescriptor>> byService = new HashMap<>();
+
+	/** Instances par feature (protégé par {@code this}). */
+	private final Map<String, Map<String, ServiceDescriptor>> byFeature = new HashMap<>();
+
+	/** Instantané immuable lu par la résolution. */
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	/** Notifié après chaque publication d’un nouvel instantané. */
+	private volatile Runnable changeListener = () -> {
+	};
+
+	/**
+	 * Routes précalculées d’un service ou d’une feature.
+	 *
+	 * @param instances descripteurs concernés (liste immuable, à ne pas modifier)
+	 * @param internal  candidates disposant d’une URL interne
+	 * @param external  candidates disposant d’une URL externe
+	 */
+	public record Route(List<ServiceDescriptor> instances, Candidates internal, Candidates external) {
+
+		/**
+		 * Retourne les URLs internes non nulles des instances.
+		 *
+		 * @return tableau partagé, à ne pas modifier
+		 */
+		public String[] internalUrls() {
+			return internal.urls();
+		}
+
+		/**
+		 * Retourne les URLs externes non nulles des instances.
+		 *
+		 * @return tableau partagé, à ne pas modifier
+		 */
+		public String[] externalUrls() {
+			return external.urls();
+		}
+	}
+
+	/**
+	 * Instantané cohérent de la table.
+	 *
+	 * @param services         routes par nom de service
+	 * @param features         routes par feature
+	 * @param featureInstances vue feature → descripteurs, précalculée
+	 */
+	record Snapshot(Map<String, Route> services, Map<String, Route> features,
+			Map<String, List<ServiceDescriptor>> featureInstances) {
+		static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+		/**
+		 * Construit un instantané à partir de maps dont il devient propriétaire.
+		 */
+		static Snapshot of(Map<String, Route> services, Map<String, Route> features) {
+			Map<String, List<ServiceDescriptor>> view = new HashMap<>();
+			features.forEach((feature, route) -> view.put(feature, route.instances()));
+			return new Snapshot(Collections.unmodifiableMap(services), Collections.unmodifiableMap(features),
+					Collections.unmodifiableMap(view));
+		}
+
+		/**
+		 * Dérive l’instantané suivant en ne remplaçant que les routes modifiées.
+		 *
+		 * @param serviceChanges nouvelles routes par service ({@code null} : retirée)
+		 * @param featureChanges nouvelles routes par feature ({@code null} : retirée)
+		 */
+		Snapshot with(Map<String, Route> serviceChanges, Map<String, Route> featureChanges) {
+			return new Snapshot(apply(services, serviceChanges, Function.identity()),
+					apply(features, featureChanges, Function.identity()),
+					apply(featureInstances, featureChanges, Route::instances));
+		}
+
+		private static <V> Map<String, V> apply(Map<String, V> current, Map<String, Route> changes,
+				Function<Route, V> value) {
+			if (changes.isEmpty())
+				return current;
+			Map<String, V> next = new HashMap<>(current);
+			changes.forEach((key, route) -> {
+				if (route == null) {
+					next.remove(key);
+				} else {
+					next.put(key, value.apply(route));
+				}
+			});
+			return Collections.unmodifiableMap(next);
+		}
+	}
+
+	/**
+	 * Retourne la route précalculée d’un service.
+	 *
+	 * @param serviceName nom logique du service
+	 * @return la route, ou {@code null} si aucune instance n’est connue
+	 */
+	public Route getServiceRoute(String serviceName) {
+		return serviceName == null ? null : snapshot.services().get(serviceName);
+	}
+
+	/**
+	 * Retourne les routes de plusieurs services, lues dans un même instantané.
+	 *
+	 * @param serviceNames noms logiques des services
+	 * @return map serviceName → route, sans les services inconnus
+	 */
+	public Map<String, Route> getServiceRoutes(Collection<String> serviceNames) {
+		Map<String, Route> services = snapshot.services();
+		Map<String, Route> routes = new HashMap<>();
+		for (String serviceName : serviceNames) {
+			Route route = serviceName == null ? null : services.get(serviceName);
+			if (route != null) {
+				routes.put(serviceName, route);
+			}
+		}
+		return routes;
+	}
+
+	/**
+	 * Retourne la route précalculée d’une feature.
+	 *
+	 * @param feature nom de la feature
+	 * @return la route, ou {@code null} si aucune instance ne l’expose
+	 */
+	public Route getFeatureRoute(String feature) {
+		return feature == null ? null : snapshot.features().get(feature);
+	}
+
+	/**
+	 * Retourne les instances par feature, telles qu’indexées.
+	 *
+	 * @return map immuable feature → descripteurs
+	 */
+	public Map<String, List<ServiceDescriptor>> getFeatureInstances() {
+		return snapshot.featureInstances();
+	}
+
+	/**
+	 * Retourne l’ensemble des descripteurs connus, depuis l’instantané courant.
+	 *
+	 * @return liste des descripteurs
+	 */
+	public List<ServiceDescriptor> getDescriptors() {
+		return snapshot.services().values().stream().flatMap(route -> route.instances().stream()).toList();
+	}
+
+	/**
+	 * Retourne le nombre d’instances connues, depuis l’instantané courant.
+	 *
+	 * @return nombre de descripteurs
+	 */
+	public int size() {
+		return snapshot.services().values().stream().mapToInt(route -> route.instances().size()).sum();
+	}
+
+	/**
+	 * Ajoute ou remplace le descripteur d’une instance.
+	 *
+	 * @param descriptor descripteur publié dans la registry
+	 */
+	public synchronized void upsert(ServiceDescriptor descriptor) {
+		if (descriptor == null || descriptor.getInstanceId() == null || descriptor.getServiceName() == null)
+			return;
+		Set<String> services = new HashSet<>();
+		Set<String> features = new HashSet<>();
+		ServiceDescriptor previous = descriptors.put(descriptor.getInstanceId(), descriptor);
+		if (previous != null) {
+			detach(previous, services, features);
+		}
+		attach(descriptor, services, features);
+		publish(snapshot.with(routes(byService, services), routes(byFeature, features)));
+	}
+
+	/**
+	 * Retire une instance de la table.
+	 *
+	 * @param instanceId identifiant de l’instance
+	 * @return le descripteur retiré, ou {@code null} si l’instance était inconnue
+	 */
+	public synchronized ServiceDescriptor remove(String instanceId) {
+		ServiceDescriptor previous = instanceId == null ? null : descriptors.remove(instanceId);
+		if (previous == null)
+			return null;
+		Set<String> services = new HashSet<>();
+		Set<String> features = new HashSet<>();
+		detach(previous, services, features);
+		publish(snapshot.with(routes(byService, services), routes(byFeature, features)));
+		return previous;
+	}
+
+	/**
+	 * Remplace intégralement le contenu de la table (chargement initial, merge
+	 * de cluster, reconnexion client).
+	 *
+	 * @param all ensemble des descripteurs de la registry
+	 */
+	public synchronized void reload(Collection<ServiceDescriptor> all) {
+		descriptors.clear();
+		byService.clear();
+		byFeature.clear();
+		for (ServiceDescriptor d : all) {
+			if (d == null || d.getInstanceId() == null || d.getServiceName() == null)
+				continue;
+			descriptors.put(d.getInstanceId(), d);
+			index(byService, d.getServiceName(), d);
+			for (String feature : featuresOf(d)) {
+				index(byFeature, feature, d);
+			}
+		}
+		Map<String, Route> services = new HashMap<>();
+		byService.forEach((name, instances) -> services.put(name, buildRoute(instances.values())));
+		Map<String, Route> features = new HashMap<>();
+		byFeature.forEach((name, instances) -> features.put(name, buildRoute(instances.values())));
+		publish(Snapshot.of(services, features));
+	}
+
+	/**
+	 * Vide la table.
+	 */
+	public synchronized void clear() {
+		descriptors.clear();
+		byService.clear();
+		byFeature.clear();
+		publish(Snapshot.EMPTY);
+	}
+
+	/**
+	 * Enregistre l’observateur notifié après chaque changement de la table
+	 * (persistance de l’instantané, ...).
+	 *
+	 * @param listener observateur, appelé sur le thread ayant modifié la table
+	 */
+	public void onChange(Runnable listener) {
+		this.changeListener = listener;
+	}
+
+	private void publish(Snapshot next) {
+		snapshot = next;
+		changeListener.run();
+	}
+
+	private void attach(ServiceDescriptor d, Set<String> services, Set<String> features) {
+		index(byService, d.getServiceName(), d);
+		services.add(d.getServiceName());
+		for (String feature : featuresOf(d)) {
+			index(byFeature, feature, d);
+			features.add(feature);
+		}
+	}
+
+	private void detach(ServiceDescriptor d, Set<String> services, Set<String> features) {
+		unindex(byService, d.getServiceName(), d.getInstanceId());
+		services.add(d.getServiceName());
+		for (String feature : featuresOf(d)) {
+			unindex(byFeature, feature, d.getInstanceId());
+			features.add(feature);
+		}
+	}
+
+	private static void index(Map<String, Map<String, ServiceDescriptor>> index, String key, ServiceDescriptor d) {
+		index.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(d.getInstanceId(), d);
+	}
+
+	private static void unindex(Map<String, Map<String, ServiceDescriptor>> index, String key, String instanceId) {
+		Map<String, ServiceDescriptor> instances = index.get(key);
+		if (instances == null)
+			return;
+		instances.remove(instanceId);
+		if (instances.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	/**
+	 * Recalcule, une seule fois chacune, les routes des clés touchées par un
+	 * événement ({@code null} pour une clé qui n’a plus d’instance).
+	 */
+	private static Map<String, Route> routes(Map<String, Map<String, ServiceDescriptor>> index, Set<String> keys) {
+		Map<String, Route> routes = new HashMap<>();
+		for (String key : keys) {
+			Map<String, ServiceDescriptor> instances = index.get(key);
+			routes.put(key, instances == null ? null : buildRoute(instances.values()));
+		}
+		return routes;
+	}
+
+	private static Set<String> featuresOf(ServiceDescriptor d) {
+		if (d.getFeatures() == null)
+			return Set.of();
+		return d.getFeatures().stream().filter(Objects::nonNull).collect(Collectors.toSet());
+	}
+
+	private static Route buildRoute(Collection<ServiceDescriptor> instances) {
+		return new Route(List.copyOf(instances), Candidates.of(instances, ServiceDescriptor::getInternalBaseUrl),
+				Candidates.of(instances, ServiceDescriptor::getExternalBaseUrl));
+	}
+}
@@ -0,0 +1,253 @@
+package com.r3edge.cloudregistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Instantané disque de la registry, pour résoudre avant d’avoir rejoint le
+ * cluster ou lorsqu’il est injoignable.
+ * <p>
+ * Le fichier est un format binaire compact (en-tête, descripteurs, CRC32). Il
+ * est réécrit après chaque changement de la table de routage, au plus une fois
+ * par période de {@code debounce}, via un fichier temporaire renommé
+ * atomiquement : un lecteur ne voit jamais de fichier partiel. La lecture
+ * charge le fichier en une fois dans un tampon en mémoire, sans le garder
+ * ouvert ni projeté (le renommage suivant échouerait sous Windows). Un fichier
+ * corrompu ou d’une version inconnue est ignoré.
+ * </p>
+ * <p>
+ * Le démarrage à froid ne profite de l’instantané qu’avec
+ * {@code r3edge.registry.startup.async=true} : en démarrage synchrone, le
+ * cluster est rejoint avant toute résolution.
+ * </p>
+ */
+@Slf4j
+class RegistrySnapshotStore {
+
+	/** « R3RS » */
+	private static final int MAGIC = 0x52335253;
+	private static final int VERSION = 1;
+	/** Attente maximale, à l’arrêt, d’une écriture en cours */
+	private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+	private final Path path;
+	private final long debounceMillis;
+	private final Supplier<Collection<ServiceDescriptor>> source;
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final AtomicBoolean pending = new AtomicBoolean();
+
+	/**
+	 * @param path     fichier de l’instantané
+	 * @param debounce délai de regroupement des écritures
+	 * @param source   contenu courant de la registry
+	 */
+	RegistrySnapshotStore(Path path, Duration debounce, Supplier<Collection<ServiceDescriptor>> source) {
+		this.path = path;
+		this.debounceMillis = debounce.toMillis();
+		this.source = source;
+		this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "r3edge-registry-snapshot");
+			t.setDaemon(true);
+			return t;
+		});
+		// À l’arrêt, l’écriture différée est remplacée par l’écriture finale de close()
+		this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+	}
+
+	/**
+	 * Lit l’instantané disque.
+	 *
+	 * @return descripteurs enregistrés, vide si le fichier est absent ou illisible
+	 */
+	List<ServiceDescriptor> load() {
+		if (!Files.isRegularFile(path))
+			return List.of();
+		try {
+			List<ServiceDescriptor> descriptors = decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+			log.info("✅ Instantané de la registry chargé : {} instances ({})", descriptors.size(), path);
+			return descriptors;
+		} catch (IOException | RuntimeException e) {
+			log.warn("⚠️ Instantané de la registry illisible, ignoré ({}) : {}", path, e.getMessage());
+			return List.of();
+		}
+	}
+
+	/**
+	 * Signale un changement : l’instantané sera réécrit après le délai de
+	 * regroupement, une seule fois pour tous les changements survenus entre-temps.
+	 */
+	void changed() {
+		if (pending.compareAndSet(false, true)) {
+			try {
+				scheduler.schedule(this::writeNow, debounceMillis, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// arrêt en cours : le changement reste en attente pour l’écriture finale de close()
+			}
+		}
+	}
+
+	/**
+	 * Arrête l’écrivain en laissant se terminer une écriture en cours (sans
+	 * l’interrompre, ce qui fermerait le fichier), puis écrit immédiatement
+	 * l’instantané s’il reste un changement en attente.
+	 */
+	void close() {
+		scheduler.shutdown();
+		try {
+			if (!scheduler.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				log.warn("⚠️ Écriture de l’instantané de la registry toujours en cours à l’arrêt ({})", path);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (pending.get()) {
+			writeNow();
+		}
+	}
+
+	private synchronized void writeNow() {
+		pending.set(false);
+		try {
+			byte[] bytes = encode(source.get());
+			Path dir = path.toAbsolutePath().getParent();
+			Files.createDirectories(dir);
+			Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+			try {
+				try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+					channel.write(ByteBuffer.wrap(bytes));
+					channel.force(true);
+				}
+				try {
+					Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+			log.debug("ℹ️ Instantané de la registry écrit : {} octets ({})", bytes.length, path);
+		} catch (IOException | RuntimeException e) {
+			log.warn("⚠️ Écriture de l’instantané de la registry impossible ({}) : {}", path, e.getMessage());
+		}
+	}
+
+	static byte[] encode(Collection<ServiceDescriptor> descriptors) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * Math.max(1, descriptors.size()));
+		// CRC32 calculé au fil de l’écriture, sans recopier le tampon
+		CheckedOutputStream checked = new CheckedOutputStream(bytes, new CRC32());
+		DataOutputStream out = new DataOutputStream(checked);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(descriptors.size());
+		for (ServiceDescriptor d : descriptors) {
+			writeString(out, d.getServiceName());
+			writeString(out, d.getInstanceId());
+			writeString(out, d.getInternalBaseUrl());
+			writeString(out, d.getExternalBaseUrl());
+			List<String> features = d.getFeatures();
+			out.writeInt(features == null ? -1 : features.size());
+			if (features != null) {
+				for (String feature : features) {
+					writeString(out, feature);
+				}
+			}
+			Map<String, String> metadata = d.getMetadata();
+			out.writeInt(metadata == null ? -1 : metadata.size());
+			if (metadata != null) {
+				for (Map.Entry<String, String> e : metadata.entrySet()) {
+					writeString(out, e.getKey());
+					writeString(out, e.getValue());
+				}
+			}
+		}
+		out.flush();
+		out.writeLong(checked.getChecksum().getValue());
+		return bytes.toByteArray();
+	}
+
+	static List<ServiceDescriptor> decode(ByteBuffer in) {
+		if (in.remaining() < Integer.BYTES * 3 + Long.BYTES)
+			throw new IllegalArgumentException("fichier tronqué");
+		CRC32 crc = new CRC32();
+		crc.update(in.slice(0, in.limit() - Long.BYTES));
+		if (crc.getValue() != in.getLong(in.limit() - Long.BYTES))
+			throw new IllegalArgumentException("somme de contrôle invalide");
+		if (in.getInt() != MAGIC || in.getInt() != VERSION)
+			throw new IllegalArgumentException("format inconnu");
+		try {
+			int count = in.getInt();
+			List<ServiceDescriptor> descriptors = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				ServiceDescriptor d = new ServiceDescriptor();
+				d.setServiceName(readString(in));
+				d.setInstanceId(readString(in));
+				d.setInternalBaseUrl(readString(in));
+				d.setExternalBaseUrl(readString(in));
+				int features = in.getInt();
+				if (features >= 0) {
+					List<String> list = new ArrayList<>(features);
+					for (int f = 0; f < features; f++) {
+						list.add(readString(in));
+					}
+					d.setFeatures(list);
+				}
+				int metadata = in.getInt();
+				if (metadata >= 0) {
+					Map<String, String> map = new HashMap<>();
+					for (int m = 0; m < metadata; m++) {
+						map.put(readString(in), readString(in));
+					}
+					d.setMetadata(map);
+				}
+				descriptors.add(d);
+			}
+			return descriptors;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("fichier tronqué", e);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(utf8.length);
+		out.write(utf8);
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0)
+			return null;
+		byte[] utf8 = new byte[length];
+		in.get(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,13 @@
+package com.r3edge.cloudregistry;
+
+/**
+ * Abonnement au flux de changements de la registry.
+ */
+@FunctionalInterface
+public interface RegistryWatch {
+
+    /**
+     * Met fin à l'abonnement. Sans effet s'il est déjà terminé.
+     */
+    void cancel();
+}
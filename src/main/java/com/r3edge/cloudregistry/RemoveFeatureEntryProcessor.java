@@ -0,0 +1,62 @@
+package com.r3edge.cloudregistry;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Retire une feature d’un {@link ServiceDescriptor} directement sur la
+ * partition propriétaire de l’entrée.
+ * <p>
+ * La lecture, la modification et l’écriture sont atomiques pour la clé : pas
+ * de mise à jour perdue face à une republication concurrente (refresh Spring
+ * Flip), et un seul aller-retour réseau.
+ * </p>
+ */
+@SuppressWarnings("serial")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemoveFeatureEntryProcessor
+		implements EntryProcessor<String, ServiceDescriptor, Boolean>, IdentifiedDataSerializable {
+
+	private String feature;
+
+	@Override
+	public Boolean process(Map.Entry<String, ServiceDescriptor> entry) {
+		ServiceDescriptor descriptor = entry.getValue();
+		if (descriptor == null || descriptor.getFeatures() == null || !descriptor.getFeatures().contains(feature))
+			return false;
+		List<String> updated = descriptor.getFeatures().stream().filter(f -> !f.equals(feature)).toList();
+		descriptor.setFeatures(updated);
+		entry.setValue(descriptor);
+		return true;
+	}
+
+	@Override
+	public int getFactoryId() {
+		return RegistryDataSerializableFactory.FACTORY_ID;
+	}
+
+	@Override
+	public int getClassId() {
+		return RegistryDataSerializableFactory.REMOVE_FEATURE_PROCESSOR;
+	}
+
+	@Override
+	public void writeData(ObjectDataOutput out) throws IOException {
+		out.writeString(feature);
+	}
+
+	@Override
+	public void readData(ObjectDataInput in) throws IOException {
+		feature = in.readString();
+	}
+}
@@ -1,9 +1,17 @@
 package com.r3edge.cloudregistry;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,13 +24,17 @@ import lombok.NoArgsConstructor;
  * les URLs internes/externes, d'accéder aux features exposées, et de fournir des métadonnées utiles
  * à la découverte, au monitoring ou à la documentation.
  * </p>
+ * <p>
+ * Dans Hazelcast, il est sérialisé au format {@link IdentifiedDataSerializable}
+ * via {@link RegistryDataSerializableFactory}.
+ * </p>
  */
 @SuppressWarnings("serial")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ServiceDescriptor implements Serializable {
+public class ServiceDescriptor implements Serializable, IdentifiedDataSerializable {
 
     /** Nom logique du service (ex: sessionmanager, datacollect, etc.) */
     private String serviceName;
@@ -41,4 +53,67 @@ public class ServiceDescriptor implements Serializable {
 
     /** Métadonnées additionnelles (facultatif) */
     private Map<String, String> metadata;
+
+    @JsonIgnore
+    @Override
+    public int getFactoryId() {
+        return RegistryDataSerializableFactory.FACTORY_ID;
+    }
+
+    @JsonIgnore
+    @Override
+    public int getClassId() {
+        return RegistryDataSerializableFactory.SERVICE_DESCRIPTOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(serviceName);
+        out.writeString(instanceId);
+        out.writeString(internalBaseUrl);
+        out.writeString(externalBaseUrl);
+        if (features == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(features.size());
+            for (String feature : features) {
+                out.writeString(feature);
+            }
+        }
+        if (metadata == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(metadata.size());
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                out.writeString(entry.getKey());
+                out.writeString(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        serviceName = in.readString();
+        instanceId = in.readString();
+        internalBaseUrl = in.readString();
+        externalBaseUrl = in.readString();
+        int featureCount = in.readInt();
+        if (featureCount >= 0) {
+            features = new ArrayList<>(featureCount);
+            for (int i = 0; i < featureCount; i++) {
+                features.add(in.readString());
+            }
+        } else {
+            features = null;
+        }
+        int metadataCount = in.readInt();
+        if (metadataCount >= 0) {
+            metadata = new HashMap<>(Math.max(4, metadataCount * 2));
+            for (int i = 0; i < metadataCount; i++) {
+                metadata.put(in.readString(), in.readString());
+            }
+        } else {
+            metadata = null;
+        }
+    }
 }
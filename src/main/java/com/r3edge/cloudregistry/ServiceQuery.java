@@ -0,0 +1,32 @@
+package com.r3edge.cloudregistry;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Critères de recherche d’instances dans la registry.
+ * <p>
+ * Tous les critères renseignés doivent être satisfaits (ET logique) ; un
+ * critère {@code null} est ignoré. Côté Hazelcast, la recherche est évaluée
+ * sur les partitions et s’appuie sur les index de la map de la registry.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceQuery {
+
+    /** Nom logique du service recherché */
+    private String serviceName;
+
+    /** Feature que l'instance doit exposer */
+    private String feature;
+
+    /** Métadonnées que l'instance doit porter (égalité stricte sur chaque clé) */
+    private Map<String, String> metadata;
+}
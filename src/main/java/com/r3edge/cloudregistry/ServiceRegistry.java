@@ -1,7 +1,9 @@
 package com.r3edge.cloudregistry;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface pour l'annuaire de services distribués.
@@ -50,6 +52,16 @@ public interface ServiceRegistry {
      */
     void unregisterFeature(String instanceId, String feature);
 
+    /**
+     * Fusionne des métadonnées dans le descripteur publié de l’instance locale.
+     *
+     * Seules les clés fournies sont modifiées ; elles sont conservées lors des
+     * republications ultérieures du descripteur (refresh, merge de cluster).
+     *
+     * @param entries métadonnées à ajouter ou remplacer
+     */
+    void updateSelfMetadata(Map<String, String> entries);
+
     /**
      * Résout une URL **interne** d’instance pour un service donné.
      *
@@ -58,6 +70,20 @@ public interface ServiceRegistry {
      */
     String resolveInternalServiceUrl(String serviceName);
 
+    /**
+     * Résout une URL **interne** d’instance pour un service donné, de manière
+     * stable pour une clé de routage.
+     *
+     * Une même clé (utilisateur, tenant, ...) est toujours dirigée vers la même
+     * instance tant que celle-ci est disponible ; l’ajout ou le retrait d’une
+     * instance ne redirige qu’une faible part des clés (hachage cohérent).
+     *
+     * @param serviceName nom du service
+     * @param routingKey clé de routage ; si {@code null}, résolution habituelle
+     * @return URL interne de l’instance associée à la clé, ou {@code null}
+     */
+    String resolveInternalServiceUrl(String serviceName, String routingKey);
+
     /**
      * Résout une URL **externe** d’instance pour un service donné.
      *
@@ -82,6 +108,15 @@ public interface ServiceRegistry {
      */
     String resolveExternalFeatureUrl(String feature);
 
+    /**
+     * Résout en une fois l’URL **interne** de plusieurs services, à partir
+     * d’un même instantané cohérent de la registry.
+     *
+     * @param serviceNames noms des services
+     * @return map serviceName → résolution, dans l’ordre de la demande
+     */
+    Map<String, ServiceResolution> resolveAll(Collection<String> serviceNames);
+
     /**
      * Retourne toutes les instances enregistrées, regroupées par service.
      *
@@ -96,6 +131,46 @@ public interface ServiceRegistry {
      */
     Map<String, List<ServiceDescriptor>> getRegisteredFeatures();
 
+    /**
+     * Recherche les instances correspondant à des critères.
+     *
+     * Avec Hazelcast en mode client, la recherche est évaluée localement sur la
+     * table de routage et les critères de métadonnées sont refusés.
+     *
+     * @param query critères de recherche (service, feature, métadonnées)
+     * @return liste des descripteurs correspondants, éventuellement vide
+     */
+    List<ServiceDescriptor> findInstances(ServiceQuery query);
+
+    /**
+     * Abonne un observateur au flux de changements de la registry.
+     *
+     * Sans jeton de reprise (ou si le jeton n'est plus valide), l'observateur
+     * reçoit d'abord une resynchronisation complète, puis les deltas.
+     *
+     * @param resumeToken jeton du dernier événement reçu, ou {@code null}
+     * @param listener observateur des changements
+     * @return l'abonnement, à annuler à la déconnexion de l'observateur
+     */
+    RegistryWatch watch(String resumeToken, Consumer<RegistryChangeEvent> listener);
+
+    /**
+     * Abonne un observateur au flux de changements de la registry, en étant
+     * prévenu de son retrait s'il ne suit pas le rythme des changements.
+     *
+     * Un observateur retiré reçoit un dernier événement RESET sans jeton, puis
+     * {@code onDropped} est appelé : il doit se réabonner avec le dernier jeton
+     * reçu.
+     *
+     * @param resumeToken jeton du dernier événement reçu, ou {@code null}
+     * @param listener observateur des changements
+     * @param onDropped action exécutée au retrait de l'observateur
+     * @return l'abonnement, à annuler à la déconnexion de l'observateur
+     */
+    default RegistryWatch watch(String resumeToken, Consumer<RegistryChangeEvent> listener, Runnable onDropped) {
+        return watch(resumeToken, listener);
+    }
+
     /**
      * Nettoyage et libération des ressources du registre distribué.
      */
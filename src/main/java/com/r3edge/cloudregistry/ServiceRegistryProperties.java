@@ -1,5 +1,11 @@
 package com.r3edge.cloudregistry;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import lombok.Data;
@@ -17,6 +23,38 @@ public class ServiceRegistryProperties {
      * Préfixe des endpoints REST exposés par RegistryController.
      */
     private String basePath = "/registry";
+    /**
+     * Stratégies de load balancing côté client.
+     */
+    private LoadBalancingProperties loadBalancing = new LoadBalancingProperties();
+    /**
+     * Clés de métadonnées indexées dans la map Hazelcast de la registry (mode membre).
+     */
+    private List<String> indexedMetadataKeys = new ArrayList<>();
+    /**
+     * Flux de changements exposé sur {base-path}/watch.
+     */
+    private WatchProperties watch = new WatchProperties();
+    /**
+     * Éjection temporaire des instances défaillantes ou lentes de la résolution.
+     */
+    private OutlierDetectionProperties outlierDetection = new OutlierDetectionProperties();
+    /**
+     * Publication périodique des signaux de charge de l'instance locale.
+     */
+    private LoadSignalsProperties loadSignals = new LoadSignalsProperties();
+    /**
+     * Préférence des instances proches (soi-même, même hôte, même zone).
+     */
+    private LocalityProperties locality = new LocalityProperties();
+    /**
+     * Instantané disque de la registry (démarrage à froid, cluster injoignable).
+     */
+    private SnapshotProperties snapshot = new SnapshotProperties();
+    /**
+     * Démarrage de Hazelcast (synchrone ou en tâche de fond).
+     */
+    private StartupProperties startup = new StartupProperties();
     
     /**
      * Propriétés de l'instance du registre.
@@ -27,5 +65,123 @@ public class ServiceRegistryProperties {
         private String externalBaseUrl;
         private String announcedIp;
     }
-}
 
+    /**
+     * Propriétés du flux de changements de la registry.
+     */
+    @Data
+    public static class WatchProperties {
+        /** Nombre d'événements conservés pour la reprise sur jeton. */
+        private int journalCapacity = 1024;
+        /** Changements en attente par client au-delà desquels un client trop lent est déconnecté. */
+        private int queueCapacity = 256;
+        /** Durée maximale d'une connexion SSE avant reconnexion du client. */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Propriétés de load balancing côté client.
+     */
+    @Data
+    public static class LoadBalancingProperties {
+        /** Stratégie appliquée par défaut (random, round-robin, power-of-two-choices, least-outstanding-requests, load-aware). */
+        private String defaultStrategy = "random";
+        /** Stratégie spécifique par nom de service. */
+        private Map<String, String> services = new HashMap<>();
+        /** Nœuds virtuels par instance de l'anneau de hachage cohérent (résolution par clé de routage). */
+        private int virtualNodes = 160;
+    }
+
+    /**
+     * Propriétés de la détection d'instances aberrantes.
+     * <p>
+     * Les résultats d'appels sont déclarés par les clients HTTP via
+     * {@code OutlierDetector.record(...)} ; sans déclaration, aucune instance
+     * n'est éjectée.
+     * </p>
+     */
+    @Data
+    public static class OutlierDetectionProperties {
+        /** Active l'éjection des instances aberrantes. */
+        private boolean enabled = true;
+        /** Échecs consécutifs entraînant l'éjection. */
+        private int consecutiveFailures = 5;
+        /** Taux d'échec lissé (0 à 1) entraînant l'éjection. */
+        private double failureRateThreshold = 0.5;
+        /** Latence lissée entraînant l'éjection (non renseignée : critère désactivé). */
+        private Duration slowLatency;
+        /** Appels minimaux avant d'évaluer le taux d'échec et la latence. */
+        private int minimumRequests = 10;
+        /** Poids de chaque nouvel appel dans les moyennes mobiles exponentielles (0 à 1). */
+        private double ewmaAlpha = 0.2;
+        /** Durée de la première éjection, multipliée à chaque récidive. */
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+        /** Durée maximale d'une éjection. */
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        /** Part maximale (en %) des candidates d'une résolution pouvant être éjectées. */
+        private int maxEjectionPercent = 50;
+    }
+
+    /**
+     * Propriétés de publication des signaux de charge (requêtes entrantes en cours, CPU,
+     * profondeur de file) dans les métadonnées du descripteur local.
+     */
+    @Data
+    public static class LoadSignalsProperties {
+        /** Active la publication périodique (désactivée par défaut). */
+        private boolean enabled = false;
+        /** Intervalle d'échantillonnage. */
+        private Duration interval = Duration.ofSeconds(5);
+        /** Variation relative (0 à 1) d'un signal en dessous de laquelle rien n'est republié. */
+        private double minChange = 0.2;
+    }
+
+    /**
+     * Propriétés de la résolution par niveaux de proximité : l'instance locale,
+     * puis les instances du même hôte, puis celles de la même zone, puis toutes.
+     */
+    @Data
+    public static class LocalityProperties {
+        /** Active la préférence de proximité (désactivée par défaut). */
+        private boolean enabled = false;
+        /** Clé de métadonnée de l'instance portant sa zone (ex: zone de disponibilité). */
+        private String zoneMetadataKey = "zone";
+        /** Instances saines minimales d'un niveau pour qu'il soit retenu ; sinon le niveau suivant est élargi. */
+        private int minInstances = 1;
+    }
+
+    /**
+     * Propriétés de l'instantané disque de la registry.
+     * <p>
+     * Au démarrage, l'instantané ne sert la résolution qu'avec
+     * {@code startup.async=true} ; il reste utilisé ensuite si le cluster
+     * devient injoignable.
+     * </p>
+     */
+    @Data
+    public static class SnapshotProperties {
+        /** Active la persistance de l'instantané (désactivée par défaut). */
+        private boolean enabled = false;
+        /** Fichier de l'instantané (par défaut : r3edge-registry-{service}.snapshot dans java.io.tmpdir). */
+        private String path;
+        /** Délai de regroupement des écritures après un changement. */
+        private Duration debounce = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Propriétés du démarrage de Hazelcast.
+     */
+    @Data
+    public static class StartupProperties {
+        /**
+         * Démarre Hazelcast en tâche de fond, sans bloquer le démarrage de Spring ;
+         * l'application n'est prête (readiness) qu'une fois le cluster rejoint.
+         */
+        private boolean async = false;
+        /**
+         * Attente maximale de la fin du démarrage par les opérations qui ont besoin
+         * du cluster (écriture, recherche, beans injectant HazelcastInstance).
+         */
+        private Duration awaitTimeout = Duration.ofMinutes(2);
+    }
+}
@@ -0,0 +1,13 @@
+package com.r3edge.cloudregistry;
+
+import java.util.List;
+
+/**
+ * Résultat de la résolution d’un service par
+ * {@link ServiceRegistry#resolveAll(java.util.Collection)}.
+ *
+ * @param url        URL interne choisie par la stratégie de load balancing, ou {@code null}
+ * @param candidates URLs internes de toutes les instances éligibles
+ */
+public record ServiceResolution(String url, List<String> candidates) {
+}
@@ -0,0 +1,88 @@
+package com.r3edge.cloudregistry;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.r3edge.cloudregistry.RegistryRoutingTable.Route;
+import com.r3edge.cloudregistry.loadbalancer.Candidates;
+import com.r3edge.cloudregistry.loadbalancer.ConsistentHashRing;
+
+/**
+ * Résolution « collante » : associe une clé de routage à une instance stable
+ * d’un service via un {@link ConsistentHashRing}.
+ * <p>
+ * Un anneau est tenu par service, construit à la première résolution puis mis
+ * à jour de manière incrémentale lorsque la route du service change (seuls
+ * les points des instances ajoutées sont calculés). Les routes étant
+ * immuables, un changement se détecte par simple comparaison de référence.
+ * </p>
+ */
+class StickyRouting {
+
+	private final int virtualNodes;
+	private final ConcurrentMap<String, Ring> rings = new ConcurrentHashMap<>();
+
+	/**
+	 * Anneau d’un service et position des instances dans ses candidates.
+	 *
+	 * @param route     route à partir de laquelle l’anneau a été construit
+	 * @param ring      anneau des instances disposant d’une URL interne
+	 * @param positions instanceId → index dans {@code route.internal()}
+	 */
+	private record Ring(Route route, ConsistentHashRing ring, Map<String, Integer> positions) {
+	}
+
+	StickyRouting(int virtualNodes) {
+		this.virtualNodes = virtualNodes;
+	}
+
+	/**
+	 * Choisit l’URL interne associée à une clé de routage.
+	 *
+	 * @param serviceName nom du service
+	 * @param route       route courante du service, éventuellement {@code null}
+	 * @param eligible    candidates retenues par les filtres (sous-ensemble de {@code route.internal()})
+	 * @param routingKey  clé de routage
+	 * @return URL interne, ou null si aucune instance n’est éligible
+	 */
+	String resolve(String serviceName, Route route, Candidates eligible, String routingKey) {
+		if (route == null) {
+			rings.remove(serviceName);
+			return null;
+		}
+		Ring current = rings.get(serviceName);
+		if (current == null || current.route() != route) {
+			current = rings.compute(serviceName, (name, previous) -> previous != null && previous.route() == route
+					? previous
+					: build(route, previous));
+		}
+		Candidates all = route.internal();
+		String owner;
+		if (eligible == all) {
+			owner = current.ring().owner(routingKey);
+		} else {
+			Set<String> ids = new HashSet<>();
+			for (ServiceDescriptor d : eligible.instances()) {
+				ids.add(d.getInstanceId());
+			}
+			owner = current.ring().owner(routingKey, ids::contains);
+		}
+		Integer position = owner == null ? null : current.positions().get(owner);
+		return position == null ? null : all.urls()[position];
+	}
+
+	private Ring build(Route route, Ring previous) {
+		ServiceDescriptor[] instances = route.internal().instances();
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < instances.length; i++) {
+			positions.put(instances[i].getInstanceId(), i);
+		}
+		ConsistentHashRing ring = previous == null ? ConsistentHashRing.of(positions.keySet(), virtualNodes)
+				: previous.ring().update(positions.keySet());
+		return new Ring(route, ring, Map.copyOf(positions));
+	}
+}
@@ -0,0 +1,74 @@
+package com.r3edge.cloudregistry;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fusionne des métadonnées dans un {@link ServiceDescriptor} directement sur la
+ * partition propriétaire de l’entrée.
+ * <p>
+ * Seules les clés transmises sont envoyées et modifiées : la publication
+ * fréquente de petites valeurs (signaux de charge) ne réécrit pas le
+ * descripteur complet et ne peut pas écraser une republication concurrente.
+ * </p>
+ */
+@SuppressWarnings("serial")
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateMetadataEntryProcessor
+		implements EntryProcessor<String, ServiceDescriptor, Boolean>, IdentifiedDataSerializable {
+
+	private Map<String, String> entries;
+
+	@Override
+	public Boolean process(Map.Entry<String, ServiceDescriptor> entry) {
+		ServiceDescriptor descriptor = entry.getValue();
+		if (descriptor == null)
+			return false;
+		Map<String, String> metadata = descriptor.getMetadata() != null ? new HashMap<>(descriptor.getMetadata())
+				: new HashMap<>();
+		if (metadata.entrySet().containsAll(entries.entrySet()))
+			return false;
+		metadata.putAll(entries);
+		descriptor.setMetadata(metadata);
+		entry.setValue(descriptor);
+		return true;
+	}
+
+	@Override
+	public int getFactoryId() {
+		return RegistryDataSerializableFactory.FACTORY_ID;
+	}
+
+	@Override
+	public int getClassId() {
+		return RegistryDataSerializableFactory.UPDATE_METADATA_PROCESSOR;
+	}
+
+	@Override
+	public void writeData(ObjectDataOutput out) throws IOException {
+		out.writeInt(entries.size());
+		for (Map.Entry<String, String> e : entries.entrySet()) {
+			out.writeString(e.getKey());
+			out.writeString(e.getValue());
+		}
+	}
+
+	@Override
+	public void readData(ObjectDataInput in) throws IOException {
+		int size = in.readInt();
+		entries = new HashMap<>(size);
+		for (int i = 0; i < size; i++) {
+			entries.put(in.readString(), in.readString());
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import com.r3edge.cloudregistry.cache.CacheGateway.WriteOpts;
+
+/**
+ * Variante non bloquante de {@link CacheGateway}.
+ * - Les appels rendent la main immédiatement : aucun thread n'est parqué sur
+ *   l'I/O Hazelcast, ce qui permet de lancer de nombreuses lectures en parallèle.
+ * - L'encodage (compression, JSON) et le décodage sont exécutés sur un exécuteur
+ *   dédié, jamais sur les threads de réponse Hazelcast.
+ */
+public interface AsyncCacheGateway {
+
+  /** Lecture simple (sans chargement). */
+  <T> CompletionStage<Optional<T>> get(String cacheName, Object key, Class<T> type);
+
+  /** Écriture d'une valeur déjà calculée (TTL natif si précisé). */
+  CompletionStage<Void> put(String cacheName, Object key, Object value, WriteOpts opts);
+
+  /** Invalidation ciblée. */
+  CompletionStage<Void> evict(String cacheName, Object key);
+}
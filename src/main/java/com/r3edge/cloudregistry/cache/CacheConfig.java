@@ -1,48 +1,121 @@
 package com.r3edge.cloudregistry.cache;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.r3edge.cloudregistry.metrics.CacheMetrics;
 
 @EnableCaching
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+	/**
+	 * CacheManager distribué, résolu au premier accès : en démarrage asynchrone,
+	 * le contexte Spring ne bloque pas sur l’arrivée dans le cluster. Sans
+	 * {@link HazelcastInstance} disponible, repli sur un cache local en mémoire.
+	 */
 	@Bean
-	@ConditionalOnBean(HazelcastInstance.class)
-	CacheManager cacheManager(HazelcastInstance hz) {
-		CacheManager hzMgr = new com.hazelcast.spring.cache.HazelcastCacheManager(hz);
-		return new GzipDecoratingCacheManager(hzMgr);
+	CacheManager cacheManager(ObjectProvider<HazelcastInstance> hazelcast, CacheProperties properties,
+			ObjectProvider<ObjectMapper> objectMapper, ObjectProvider<CacheMetrics> metrics) {
+		return new DeferredCacheManager(() -> {
+			HazelcastInstance hz = hazelcast.getIfAvailable();
+			if (hz == null) {
+				// Pour les tests : pas de cluster → cache local en mémoire
+				return new ConcurrentMapCacheManager();
+			}
+			CacheManager hzMgr = new com.hazelcast.spring.cache.HazelcastCacheManager(hz);
+			CacheManager compressingMgr = new CompressingCacheManager(hzMgr, properties.getCompression(),
+					properties.getLoading(), objectMapper.getIfAvailable(ObjectMapper::new),
+					metrics.getIfAvailable(() -> CacheMetrics.NOOP));
+			// Optionnel : L1 local borné devant Hazelcast, invalidé par listener de map
+			return properties.getTiered().isEnabled()
+					? new TieredCacheManager(compressingMgr, properties.getTiered())
+					: compressingMgr;
+		});
+	}
+
+	// ⏳ Résout le CacheManager réel au premier accès (attente du cluster bornée par await-timeout)
+	static final class DeferredCacheManager implements CacheManager {
+		private final Supplier<CacheManager> factory;
+		private volatile CacheManager delegate;
+
+		DeferredCacheManager(Supplier<CacheManager> factory) {
+			this.factory = factory;
+		}
+
+		private CacheManager delegate() {
+			CacheManager current = delegate;
+			if (current == null) {
+				synchronized (this) {
+					current = delegate;
+					if (current == null) {
+						current = factory.get();
+						delegate = current;
+					}
+				}
+			}
+			return current;
+		}
+
+		@Override
+		public Cache getCache(String name) {
+			return delegate().getCache(name);
+		}
+
+		@Override
+		public Collection<String> getCacheNames() {
+			return delegate().getCacheNames();
+		}
 	}
-	
-	  @Bean
-	  @ConditionalOnMissingBean(CacheManager.class)
-	  public CacheManager fallbackCacheManager() {
-	    // Pour les tests : pas de cluster → cache local en mémoire
-	    return new ConcurrentMapCacheManager();
-	  }
-
-	// 🎁 Décorateur: stocke en byte[] GZIP, rend un String à la lecture
-	final class GzipDecoratingCacheManager implements CacheManager {
+
+	// 🎁 Décorateur: encode les valeurs en byte[] (codec par cache : compression, JSON des objets), les restitue à la lecture
+	static final class CompressingCacheManager implements CacheManager {
 		private final CacheManager delegate;
+		private final CacheProperties.Compression settings;
+		private final CacheProperties.Loading loading;
+		private final ObjectMapper objectMapper;
+		private final CacheMetrics metrics;
+		private final ConcurrentMap<String, ValueCodec> codecs = new ConcurrentHashMap<>();
+		private final ConcurrentMap<String, SingleFlight> flights = new ConcurrentHashMap<>();
+
+		CompressingCacheManager(CacheManager d, CacheProperties.Compression settings, ObjectMapper objectMapper) {
+			this(d, settings, new CacheProperties.Loading(), objectMapper, CacheMetrics.NOOP);
+		}
 
-		GzipDecoratingCacheManager(CacheManager d) {
+		CompressingCacheManager(CacheManager d, CacheProperties.Compression settings, CacheProperties.Loading loading,
+				ObjectMapper objectMapper, CacheMetrics metrics) {
 			this.delegate = d;
+			this.settings = settings;
+			this.loading = loading;
+			this.objectMapper = objectMapper;
+			this.metrics = metrics;
 		}
 
 		@Override
 		public Cache getCache(String name) {
-			return new GzipCache(delegate.getCache(name));
+			ValueCodec codec = codecs.computeIfAbsent(name,
+					n -> ValueCodec.of(settings.forCache(n), objectMapper).recordingTo(
+							(rawBytes, storedBytes, nanos) -> metrics.compression(n, rawBytes, storedBytes, nanos)));
+			SingleFlight flight = flights.computeIfAbsent(name, n -> new SingleFlight(loading));
+			return new CompressingCache(delegate.getCache(name), codec, flight, metrics);
 		}
 
 		@Override
@@ -50,11 +123,17 @@ public class CacheConfig {
 			return delegate.getCacheNames();
 		}
 
-		static final class GzipCache implements Cache {
+		static final class CompressingCache implements Cache, StoreValueEncoder {
 			private final Cache target;
+			private final ValueCodec codec;
+			private final SingleFlight flight;
+			private final CacheMetrics metrics;
 
-			GzipCache(Cache target) {
+			CompressingCache(Cache target, ValueCodec codec, SingleFlight flight, CacheMetrics metrics) {
 				this.target = target;
+				this.codec = codec;
+				this.flight = flight;
+				this.metrics = metrics;
 			}
 
 			@Override
@@ -67,14 +146,30 @@ public class CacheConfig {
 				return target.getNativeCache();
 			}
 
+			@Override
+			public Object encodeForStore(Object value) {
+				return codec.encode(value);
+			}
+
+			@Override
+			public Object decodeFromStore(Object stored) {
+				return codec.decode(stored);
+			}
+
+			@Override
+			public CacheProperties.Compression storeFormat() {
+				return codec.settings();
+			}
+
 			@Override
 			public ValueWrapper get(Object key) {
 				ValueWrapper w = target.get(key);
-				if (w == null)
-					return null;
-				Object v = w.get();
-				if (v instanceof byte[] gz)
-					return () -> ungzipToString(gz);
+				if (w != null && w.get() instanceof byte[] stored) {
+					// Valeur JSON d'une classe non autorisée : traitée comme absente
+					Object decoded = codec.decode(stored);
+					w = decoded == null ? null : new SimpleValueWrapper(decoded);
+				}
+				metrics.get(getName(), w != null);
 				return w;
 			}
 
@@ -86,15 +181,12 @@ public class CacheConfig {
 
 			@Override
 			public void put(Object key, Object value) {
-				if (value instanceof String s)
-					target.put(key, gzip(s));
-				else
-					target.put(key, value);
+				target.put(key, codec.encode(value));
 			}
 
 			@Override
 			public ValueWrapper putIfAbsent(Object key, Object value) {
-				return target.putIfAbsent(key, (value instanceof String s) ? gzip(s) : value);
+				return target.putIfAbsent(key, codec.encode(value));
 			}
 
 			@Override
@@ -107,25 +199,6 @@ public class CacheConfig {
 				target.clear();
 			}
 
-			private static byte[] gzip(String s) {
-				try (var baos = new java.io.ByteArrayOutputStream(s.length());
-						var gos = new java.util.zip.GZIPOutputStream(baos)) {
-					gos.write(s.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-					gos.close();
-					return baos.toByteArray();
-				} catch (Exception e) {
-					throw new IllegalStateException(e);
-				}
-			}
-
-			private static String ungzipToString(byte[] gz) {
-				try (var gis = new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(gz))) {
-					return new String(gis.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-				} catch (Exception e) {
-					throw new IllegalStateException(e);
-				}
-			}
-
 			@Override
 			public <T> T get(Object key, Callable<T> valueLoader) {
 				// 1) Essaye le cache (décompressé via notre get(...) décoré)
@@ -136,21 +209,34 @@ public class CacheConfig {
 					return val;
 				}
 
-				// 2) Charge et essaye d'insérer de façon atomique
+				// 2) Charge une seule fois par clé (JVM, voire cluster) et essaye d'insérer de façon atomique
 				try {
-					T loaded = valueLoader.call();
-					Object toStore = (loaded instanceof String s) ? gzip(s) : loaded;
-
-					// putIfAbsent -> si quelqu'un a déjà stocké, on renvoie la valeur existante
-					ValueWrapper previous = target.putIfAbsent(key, toStore);
-					if (previous == null) {
-						return loaded; // c'est nous qui avons stocké
-					} else {
-						Object v = previous.get();
+					@SuppressWarnings("unchecked")
+					IMap<Object, Object> map = target.getNativeCache() instanceof IMap<?, ?> m ? (IMap<Object, Object>) m : null;
+					return flight.load(key, map, false, () -> {
+						ValueWrapper current = get(key);
 						@SuppressWarnings("unchecked")
-						T val = (T) (v instanceof byte[] gz ? ungzipToString(gz) : v);
+						Optional<T> present = current == null ? Optional.empty() : Optional.ofNullable((T) current.get());
+						return present;
+					}, () -> {
+						long start = System.nanoTime();
+						T loaded = valueLoader.call();
+						metrics.load(getName(), System.nanoTime() - start);
+
+						// putIfAbsent -> si quelqu'un a déjà stocké, on renvoie la valeur existante
+						Object encoded = codec.encode(loaded);
+						ValueWrapper previous = target.putIfAbsent(key, encoded);
+						if (previous == null) {
+							return loaded; // c'est nous qui avons stocké
+						}
+						@SuppressWarnings("unchecked")
+						T val = (T) codec.decode(previous.get());
+						if (val == null) {
+							target.put(key, encoded); // valeur existante illisible : remplacée
+							return loaded;
+						}
 						return val;
-					}
+					});
 				} catch (Exception ex) {
 					throw new org.springframework.cache.Cache.ValueRetrievalException(key, valueLoader, ex);
 				}
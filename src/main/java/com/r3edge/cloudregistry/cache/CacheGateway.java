@@ -1,5 +1,7 @@
 package com.r3edge.cloudregistry.cache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -14,26 +16,60 @@ public interface CacheGateway {
   /** Lecture simple (sans chargement). */
   <T> Optional<T> get(String cacheName, Object key, Class<T> type);
 
+  /**
+   * Lecture groupée (sans chargement) : un aller-retour par membre propriétaire
+   * lorsque le cache est une IMap Hazelcast.
+   * @return les entrées trouvées uniquement (clé → valeur)
+   */
+  <T> Map<Object, T> getAll(String cacheName, Collection<?> keys, Class<T> type);
+
+  /**
+   * Lecture avec chargement sur miss, protégée contre les rafales de rechargement :
+   * un seul appel au loader par clé dans la JVM (et dans le cluster si
+   * {@code r3edge.cache.loading.cluster-lock} est activé). À l'approche de
+   * l'expiration (TTL de {@code opts}), une lecture peut déclencher un
+   * rafraîchissement anticipé probabiliste. Avec un soft TTL, une valeur périmée
+   * est servie immédiatement et rechargée de façon asynchrone.
+   */
+  <T> T getOrLoad(String cacheName, Object key, Class<T> type, Supplier<T> loader, WriteOpts opts);
+
   /** Écriture déterministe : le loader reconstruit la valeur canonique (DB “bourrin”). */
   <T> T putRaw(String cacheName, Object key, Supplier<T> loader, WriteOpts opts);
 
   /**
    * Écriture “smart” par delta : le loader fusionne (existing, delta) -> merged.
    * existing est absent si miss.
+   * Si le loader est un {@link CacheMerger} et le cache une IMap Hazelcast, la fusion
+   * est atomique et exécutée sur la partition propriétaire (EntryProcessor) ;
+   * sinon lecture puis écriture, sans protection contre les deltas concurrents.
    */
   <T> T putSmart(String cacheName, Object key, T delta,
                  BiFunction<Optional<T>, T, T> loader,
                  WriteOpts opts);
 
+  /** Écriture groupée de valeurs déjà calculées (TTL natif si précisé). */
+  void putAll(String cacheName, Map<?, ?> entries, WriteOpts opts);
+
   /** Invalidation ciblée. */
   void evict(String cacheName, Object key);
 
+  /** Invalidation groupée. */
+  void evictAll(String cacheName, Collection<?> keys);
+
   /** Purge complète d’un cache. */
   void evictAll(String cacheName);
 
-  /** Options d’écriture (TTL natif, tracing, etc.). */
-  record WriteOpts(Integer ttlSeconds, String traceId) {
+  /**
+   * Options d’écriture (TTL natif, tracing, etc.).
+   * softTtlSeconds : au-delà, {@link #getOrLoad} sert la valeur périmée et la recharge
+   * en arrière-plan (stale-while-revalidate) ; ttlSeconds reste l'expiration ferme.
+   */
+  record WriteOpts(Integer ttlSeconds, String traceId, Integer softTtlSeconds) {
+    public WriteOpts(Integer ttlSeconds, String traceId) { this(ttlSeconds, traceId, null); }
     public static WriteOpts none() { return new WriteOpts(null, null); }
     public static WriteOpts ttl(int seconds) { return new WriteOpts(seconds, null); }
+    public static WriteOpts staleWhileRevalidate(int softSeconds, int hardSeconds) {
+      return new WriteOpts(hardSeconds, null, softSeconds);
+    }
   }
 }
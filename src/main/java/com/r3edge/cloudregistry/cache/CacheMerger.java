@@ -0,0 +1,27 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Fonction de fusion {@code (existing, delta) -> merged} sérialisable, utilisée
+ * par {@link CacheGateway#putSmart}.
+ * <p>
+ * Lorsque le cache est porté par une {@code IMap} Hazelcast, la fusion est
+ * exécutée sur la partition propriétaire de la clé (EntryProcessor) : un seul
+ * aller-retour et aucune mise à jour perdue entre deltas concurrents. La
+ * fonction doit donc être déterministe, sans état capturé non sérialisable, et
+ * sa classe présente sur chaque membre.
+ * </p>
+ *
+ * <pre>{@code
+ * CacheMerger<Long> sum = (existing, delta) -> existing.orElse(0L) + delta;
+ * cacheGateway.putSmart("counters", key, 1L, sum, WriteOpts.none());
+ * }</pre>
+ *
+ * @param <T> type de la valeur mise en cache
+ */
+@FunctionalInterface
+public interface CacheMerger<T> extends BiFunction<Optional<T>, T, T>, Serializable {
+}
@@ -0,0 +1,152 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Propriétés du cache distribué exposé par {@link CacheConfig}.
+ */
+@ConfigurationProperties(prefix = "r3edge.cache")
+@Data
+public class CacheProperties {
+
+    /**
+     * Cache local L1 devant la map Hazelcast (L2).
+     */
+    private Tiered tiered = new Tiered();
+
+    /**
+     * Encodage et compression des valeurs stockées dans Hazelcast.
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * Chargement des entrées absentes ou proches de l'expiration.
+     */
+    private Loading loading = new Loading();
+
+    /**
+     * Propriétés du mode deux niveaux (L1 local + L2 Hazelcast).
+     */
+    @Data
+    public static class Tiered {
+        /** Active le cache local L1 (désactivé par défaut). */
+        private boolean enabled = false;
+        /** Nombre maximal d'entrées par cache local. */
+        private int maxSize = 10_000;
+        /** Durée de vie d'une entrée dans le cache local. */
+        private Duration ttl = Duration.ofSeconds(30);
+        /** Surcharges par nom de cache. */
+        private Map<String, Local> caches = new HashMap<>();
+
+        /**
+         * Retourne le réglage effectif d'un cache.
+         *
+         * @param cacheName nom du cache
+         * @return réglage local, complété par les valeurs par défaut
+         */
+        public Local forCache(String cacheName) {
+            Local override = caches.get(cacheName);
+            Local effective = new Local();
+            effective.setMaxSize(override != null && override.getMaxSize() != null ? override.getMaxSize() : maxSize);
+            effective.setTtl(override != null && override.getTtl() != null ? override.getTtl() : ttl);
+            return effective;
+        }
+    }
+
+    /**
+     * Propriétés du chargement « single-flight ».
+     * <p>
+     * Un seul chargement par clé est toujours exécuté à la fois dans la JVM ;
+     * le verrou de cluster étend cette garantie à l'ensemble des membres.
+     * </p>
+     */
+    @Data
+    public static class Loading {
+        /** Protège le chargement d'une clé par un verrou Hazelcast (IMap.tryLock). */
+        private boolean clusterLock = false;
+        /** Attente maximale du verrou avant de charger malgré tout. */
+        private Duration lockWait = Duration.ofSeconds(5);
+        /** Bail du verrou, libéré automatiquement si le membre disparaît. */
+        private Duration lockLease = Duration.ofSeconds(30);
+        /** Coefficient du rafraîchissement anticipé (XFetch) des entrées chargées avec un TTL ; 0 le désactive. */
+        private double earlyRefreshBeta = 1.0;
+        /** Threads rechargeant en arrière-plan les valeurs servies périmées (stale-while-revalidate). */
+        private int revalidateThreads = 2;
+        /** Rechargements en attente au-delà desquels les nouvelles demandes sont ignorées. */
+        private int revalidateQueue = 256;
+    }
+
+    /**
+     * Surcharge locale d'un cache.
+     */
+    @Data
+    public static class Local {
+        /** Nombre maximal d'entrées. */
+        private Integer maxSize;
+        /** Durée de vie d'une entrée. */
+        private Duration ttl;
+    }
+
+    /**
+     * Propriétés de compression des valeurs.
+     * <p>
+     * Les valeurs compressées portent un octet d'en-tête identifiant le format :
+     * le codec peut donc être changé sans purger les caches, les anciennes
+     * valeurs (y compris le GZIP historique) restant lisibles.
+     * </p>
+     */
+    @Data
+    public static class Compression {
+        /** Codec : none, deflate (défaut), fast (deflate niveau 1) ou dictionary (deflate + dictionnaire). */
+        private String codec;
+        /** Niveau de compression deflate (1 à 9, 6 par défaut). */
+        private Integer level;
+        /** Taille minimale (en octets) en dessous de laquelle la valeur n'est pas compressée (256 par défaut). */
+        private Integer minSize;
+        /** Dictionnaire prédéfini (échantillon représentatif des valeurs) pour le codec dictionary. */
+        private String dictionary;
+        /** Encodage des valeurs autres que les chaînes : none (défaut, confiées telles quelles à Hazelcast) ou json. */
+        private String objects;
+        /**
+         * Classes ou paquetages dont les valeurs JSON peuvent être relues, en plus des
+         * classes encodées par cette JVM ; toute autre valeur JSON est traitée comme absente.
+         */
+        private List<String> trustedTypes;
+        /** Surcharges par nom de cache. */
+        private Map<String, Compression> caches = new HashMap<>();
+
+        /**
+         * Retourne le réglage effectif d'un cache.
+         * <p>
+         * Les réglages non renseignés dans la surcharge reprennent ceux du niveau
+         * global, puis les valeurs par défaut.
+         * </p>
+         *
+         * @param cacheName nom du cache
+         * @return réglage de compression, complété par les valeurs par défaut
+         */
+        public Compression forCache(String cacheName) {
+            Compression override = caches.getOrDefault(cacheName, new Compression());
+            Compression effective = new Compression();
+            effective.setCaches(Map.of());
+            effective.setCodec(firstNonNull(override.getCodec(), codec, "deflate"));
+            effective.setLevel(firstNonNull(override.getLevel(), level, 6));
+            effective.setMinSize(firstNonNull(override.getMinSize(), minSize, 256));
+            effective.setDictionary(override.getDictionary() != null ? override.getDictionary() : dictionary);
+            effective.setObjects(firstNonNull(override.getObjects(), objects, "none"));
+            effective.setTrustedTypes(List.copyOf(firstNonNull(override.getTrustedTypes(), trustedTypes, List.of())));
+            return effective;
+        }
+
+        private static <T> T firstNonNull(T override, T global, T fallback) {
+            return override != null ? override : global != null ? global : fallback;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spring.context.SpringAware;
+import com.r3edge.cloudregistry.RegistryDataSerializableFactory;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Fusionne un delta dans la valeur d'une entrée de cache, directement sur la
+ * partition propriétaire de la clé.
+ * <p>
+ * La valeur stockée est décodée puis réencodée avec le même format que
+ * {@link CacheConfig} (réglage de compression transmis avec le processor), de
+ * sorte que les lectures via Spring Cache restent inchangées. La valeur
+ * fusionnée, non encodée, est retournée à l'appelant.
+ * </p>
+ */
+@SuppressWarnings("serial")
+@SpringAware
+@NoArgsConstructor
+public class MergeEntryProcessor implements EntryProcessor<Object, Object, Object>, IdentifiedDataSerializable {
+
+	/** Codecs reconstruits côté membre, par réglage */
+	private static final ConcurrentMap<CacheProperties.Compression, ValueCodec> CODECS = new ConcurrentHashMap<>();
+
+	private CacheMerger<Object> merger;
+	private Object delta;
+	private long ttlSeconds = -1;
+	private CacheProperties.Compression storeFormat;
+
+	/** Mapper JSON du membre, injecté par le SpringManagedContext lorsqu'il existe */
+	@Autowired(required = false)
+	private transient ObjectMapper objectMapper;
+
+	/**
+	 * @param merger      fonction de fusion
+	 * @param delta       delta à fusionner
+	 * @param ttlSeconds  TTL natif à appliquer, ou {@code null}
+	 * @param storeFormat réglage du codec des valeurs stockées, ou {@code null} si
+	 *                    les valeurs sont stockées telles quelles
+	 */
+	@SuppressWarnings("unchecked")
+	MergeEntryProcessor(CacheMerger<?> merger, Object delta, Integer ttlSeconds, CacheProperties.Compression storeFormat) {
+		this.merger = (CacheMerger<Object>) merger;
+		this.delta = delta;
+		this.ttlSeconds = ttlSeconds == null ? -1 : ttlSeconds;
+		this.storeFormat = storeFormat;
+	}
+
+	@Override
+	public Object process(Map.Entry<Object, Object> entry) {
+		ValueCodec codec = codec();
+		Object existing = codec == null ? entry.getValue() : codec.decode(entry.getValue());
+		Object merged = merger.apply(Optional.ofNullable(existing), delta);
+		Object stored = codec == null ? merged : codec.encode(merged);
+		if (ttlSeconds >= 0 && entry instanceof ExtendedMapEntry<Object, Object> extended) {
+			extended.setValue(stored, ttlSeconds, TimeUnit.SECONDS);
+		} else {
+			entry.setValue(stored);
+		}
+		return merged;
+	}
+
+	private ValueCodec codec() {
+		if (storeFormat == null)
+			return null;
+		return CODECS.computeIfAbsent(storeFormat,
+				format -> ValueCodec.of(format, objectMapper != null ? objectMapper : new ObjectMapper()));
+	}
+
+	@Override
+	public int getFactoryId() {
+		return RegistryDataSerializableFactory.FACTORY_ID;
+	}
+
+	@Override
+	public int getClassId() {
+		return RegistryDataSerializableFactory.MERGE_PROCESSOR;
+	}
+
+	@Override
+	public void writeData(ObjectDataOutput out) throws IOException {
+		out.writeObject(merger);
+		out.writeObject(delta);
+		out.writeLong(ttlSeconds);
+		out.writeBoolean(storeFormat != null);
+		if (storeFormat != null) {
+			out.writeString(storeFormat.getCodec());
+			out.writeInt(storeFormat.getLevel());
+			out.writeInt(storeFormat.getMinSize());
+			out.writeString(storeFormat.getDictionary());
+			out.writeString(storeFormat.getObjects());
+			out.writeObject(storeFormat.getTrustedTypes() == null ? null : new ArrayList<>(storeFormat.getTrustedTypes()));
+		}
+	}
+
+	@Override
+	public void readData(ObjectDataInput in) throws IOException {
+		merger = in.readObject();
+		delta = in.readObject();
+		ttlSeconds = in.readLong();
+		if (in.readBoolean()) {
+			storeFormat = new CacheProperties.Compression();
+			storeFormat.setCaches(Map.of());
+			storeFormat.setCodec(in.readString());
+			storeFormat.setLevel(in.readInt());
+			storeFormat.setMinSize(in.readInt());
+			storeFormat.setDictionary(in.readString());
+			storeFormat.setObjects(in.readString());
+			List<String> trustedTypes = in.readObject();
+			storeFormat.setTrustedTypes(trustedTypes == null ? List.of() : List.copyOf(trustedTypes));
+		}
+	}
+}
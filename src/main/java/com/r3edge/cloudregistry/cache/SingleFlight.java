@@ -0,0 +1,194 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.hazelcast.map.IMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chargement « single-flight » des entrées d'un cache.
+ * <p>
+ * Dans la JVM, un seul chargement par clé est exécuté à la fois : les appels
+ * concurrents attendent son résultat. Si {@code cluster-lock} est activé, le
+ * chargement est en outre protégé par un verrou de clé Hazelcast
+ * ({@link IMap#tryLock}) à durée de bail bornée, afin qu'un seul membre
+ * interroge la source après une expiration.
+ * </p>
+ * <p>
+ * Le rafraîchissement anticipé suit l'algorithme XFetch : une lecture déclenche
+ * le rechargement avec une probabilité croissant à l'approche de l'expiration,
+ * proportionnellement au temps de chargement observé.
+ * </p>
+ */
+@Slf4j
+final class SingleFlight {
+
+	/** Nombre d'expirations mémorisées au-delà duquel la mémoire est vidée */
+	private static final int MAX_EXPIRATIONS = 10_000;
+
+	private final CacheProperties.Loading settings;
+	private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	/** Expirations connues localement (écritures de ce membre, EntryView déjà lues) */
+	private final ConcurrentMap<Object, Long> expirations = new ConcurrentHashMap<>();
+
+	/** Durée moyenne (EWMA) d'un chargement, en nanosecondes */
+	private volatile double loadNanos;
+
+	SingleFlight(CacheProperties.Loading settings) {
+		this.settings = settings;
+	}
+
+	/**
+	 * Charge une entrée, une seule fois par clé dans la JVM (et dans le cluster
+	 * si le verrou est activé).
+	 *
+	 * @param key     clé
+	 * @param map     IMap portant le cache, ou {@code null}
+	 * @param refresh {@code true} pour un rafraîchissement anticipé (la valeur
+	 *                courante reste servie si un autre appel ou un autre membre
+	 *                recharge déjà)
+	 * @param current lecture de la valeur courante
+	 * @param loader  chargement depuis la source
+	 * @return valeur chargée (ou chargée entre-temps par un autre appel)
+	 * @throws Exception erreur du chargement
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T load(Object key, IMap<Object, Object> map, boolean refresh, Supplier<Optional<T>> current,
+			Callable<T> loader) throws Exception {
+		CompletableFuture<Object> mine = new CompletableFuture<>();
+		CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+		if (leader != null) {
+			// Rafraîchissement : la valeur courante reste valide, inutile d'attendre le chargement en cours
+			if (refresh) {
+				Optional<T> present = current.get();
+				if (present.isPresent())
+					return present.get();
+			}
+			return (T) await(leader);
+		}
+		try {
+			T value = underLease(key, map, refresh, current, loader);
+			mine.complete(value);
+			return value;
+		} catch (Exception | Error e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	/**
+	 * Indique si une lecture doit déclencher un rafraîchissement anticipé.
+	 *
+	 * @param expirationTime instant d'expiration de l'entrée (epoch ms)
+	 * @return {@code true} si l'appelant doit recharger la valeur
+	 */
+	boolean shouldRefreshEarly(long expirationTime) {
+		double beta = settings.getEarlyRefreshBeta();
+		if (beta <= 0 || expirationTime <= 0 || expirationTime == Long.MAX_VALUE || loadNanos == 0)
+			return false;
+		double gapMillis = loadNanos / 1_000_000d * beta * -Math.log(1d - ThreadLocalRandom.current().nextDouble());
+		return System.currentTimeMillis() + gapMillis >= expirationTime;
+	}
+
+	/**
+	 * Indique si le rafraîchissement anticipé peut se déclencher, c'est-à-dire
+	 * s'il est activé et qu'un chargement a déjà été mesuré.
+	 *
+	 * @return {@code true} si l'expiration des entrées doit être consultée
+	 */
+	boolean earlyRefreshEnabled() {
+		return settings.getEarlyRefreshBeta() > 0 && loadNanos != 0;
+	}
+
+	/**
+	 * Mémorise l'expiration d'une entrée, pour décider localement d'un
+	 * rafraîchissement anticipé sans relire l'entrée dans le cluster.
+	 *
+	 * @param key            clé
+	 * @param expirationTime expiration en millisecondes epoch, {@code 0} si
+	 *                       inconnue
+	 */
+	void expiresAt(Object key, long expirationTime) {
+		if (expirationTime == 0) {
+			expirations.remove(key);
+			return;
+		}
+		if (expirations.size() >= MAX_EXPIRATIONS)
+			expirations.clear(); // borne grossière : les expirations sont réapprises à la lecture
+		expirations.put(key, expirationTime);
+	}
+
+	/**
+	 * Retourne l'expiration mémorisée d'une entrée.
+	 *
+	 * @param key clé
+	 * @return expiration en millisecondes epoch, {@code 0} si inconnue
+	 */
+	long knownExpiration(Object key) {
+		Long expirationTime = expirations.get(key);
+		return expirationTime == null ? 0 : expirationTime;
+	}
+
+	private <T> T underLease(Object key, IMap<Object, Object> map, boolean refresh, Supplier<Optional<T>> current,
+			Callable<T> loader) throws Exception {
+		if (map == null || !settings.isClusterLock())
+			return timed(loader);
+		boolean locked = map.tryLock(key, settings.getLockWait().toMillis(), TimeUnit.MILLISECONDS,
+				settings.getLockLease().toMillis(), TimeUnit.MILLISECONDS);
+		try {
+			// Miss : un autre membre a pu charger pendant l'attente du verrou.
+			// Rafraîchissement sans verrou : un autre membre recharge déjà.
+			if (!refresh || !locked) {
+				Optional<T> present = current.get();
+				if (present.isPresent())
+					return present.get();
+			}
+			return timed(loader);
+		} finally {
+			if (locked) {
+				unlock(map, key);
+			}
+		}
+	}
+
+	/** Libère le verrou, qui a pu expirer (bail dépassé par un chargement lent). */
+	private static void unlock(IMap<Object, Object> map, Object key) {
+		try {
+			map.unlock(key);
+		} catch (IllegalMonitorStateException e) {
+			log.warn("⚠️ Verrou de chargement de {} expiré avant la fin du chargement (bail trop court ?)", key);
+		}
+	}
+
+	private <T> T timed(Callable<T> loader) throws Exception {
+		long start = System.nanoTime();
+		T value = loader.call();
+		long elapsed = System.nanoTime() - start;
+		loadNanos = loadNanos == 0 ? elapsed : loadNanos * 0.8 + elapsed * 0.2;
+		return value;
+	}
+
+	private static Object await(CompletableFuture<Object> leader) throws Exception {
+		try {
+			return leader.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof Exception cause)
+				throw cause;
+			if (e.getCause() instanceof Error error)
+				throw error;
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.hazelcast.map.IMap;
+import com.r3edge.cloudregistry.cache.CacheGateway.WriteOpts;
+
+@Component
+public class SpringAsyncCacheGateway implements AsyncCacheGateway {
+
+  private final CacheManager cacheManager;
+  private final Executor codecExecutor;
+
+  @Autowired
+  public SpringAsyncCacheGateway(CacheManager cacheManager) {
+    this(cacheManager, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param codecExecutor exécuteur de l'encodage/décodage (et des appels
+   *                      bloquants lorsque le cache n'est pas une IMap)
+   */
+  public SpringAsyncCacheGateway(CacheManager cacheManager, Executor codecExecutor) {
+    this.cacheManager = cacheManager;
+    this.codecExecutor = codecExecutor;
+  }
+
+  // ---------- READ ----------
+
+  @Override
+  public <T> CompletionStage<Optional<T>> get(String cacheName, Object key, Class<T> type) {
+    Cache cache = requireCache(cacheName);
+    IMap<Object,Object> map = nativeMap(cache);
+    if (map == null) {
+      return CompletableFuture.supplyAsync(() -> Optional.ofNullable(cache.get(key, type)), codecExecutor);
+    }
+    // Décodage hors du thread de réponse Hazelcast
+    return map.getAsync(key).thenApplyAsync(stored -> Optional.ofNullable(type.cast(decode(cache, stored))),
+        codecExecutor);
+  }
+
+  // ---------- WRITE ----------
+
+  @Override
+  public CompletionStage<Void> put(String cacheName, Object key, Object value, WriteOpts opts) {
+    Cache cache = requireCache(cacheName);
+    IMap<Object,Object> map = nativeMap(cache);
+    if (map == null) {
+      return CompletableFuture.runAsync(() -> cache.put(key, value), codecExecutor);
+    }
+    Integer ttl = (opts == null) ? null : opts.ttlSeconds();
+    return CompletableFuture.supplyAsync(() -> encode(cache, value), codecExecutor)
+        .thenCompose(stored -> ttl == null
+            ? map.setAsync(key, stored)
+            : map.setAsync(key, stored, ttl.longValue(), TimeUnit.SECONDS))
+        .thenRun(() -> afterDirectWrite(cache, key));
+  }
+
+  // ---------- EVICT ----------
+
+  @Override
+  public CompletionStage<Void> evict(String cacheName, Object key) {
+    Cache cache = requireCache(cacheName);
+    IMap<Object,Object> map = nativeMap(cache);
+    if (map == null) {
+      return CompletableFuture.runAsync(() -> cache.evict(key), codecExecutor);
+    }
+    return map.deleteAsync(key).thenRun(() -> afterDirectWrite(cache, key));
+  }
+
+  // ---------- Helpers ----------
+
+  private Cache requireCache(String cacheName) {
+    Cache c = cacheManager.getCache(cacheName);
+    if (c == null) throw new IllegalArgumentException("Unknown cache: " + cacheName);
+    return c;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static IMap<Object,Object> nativeMap(Cache cache) {
+    return (cache.getNativeCache() instanceof IMap<?, ?> iMap) ? (IMap<Object,Object>) iMap : null;
+  }
+
+  private static Object encode(Cache cache, Object value) {
+    return (cache instanceof StoreValueEncoder encoder) ? encoder.encodeForStore(value) : value;
+  }
+
+  private static Object decode(Cache cache, Object stored) {
+    return (cache instanceof StoreValueEncoder encoder) ? encoder.decodeFromStore(stored) : stored;
+  }
+
+  private static void afterDirectWrite(Cache cache, Object key) {
+    if (cache instanceof StoreValueEncoder encoder) encoder.afterDirectWrite(key);
+  }
+}
@@ -1,23 +1,91 @@
 package com.r3edge.cloudregistry.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
+import com.hazelcast.core.EntryView;
 import com.hazelcast.map.IMap;
+import com.r3edge.cloudregistry.HazelcastServiceRegistry;
+import com.r3edge.cloudregistry.metrics.CacheMetrics;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class SpringCacheGateway implements CacheGateway {
 
   private final CacheManager cacheManager;
+  private final CacheProperties.Loading loading;
+  private final CacheMetrics metrics;
+  private final BooleanSupplier clientMode;
+  private final ConcurrentMap<String, SingleFlight> flights = new ConcurrentHashMap<>();
+  private final Set<Map.Entry<String, Object>> revalidating = ConcurrentHashMap.newKeySet();
+  private final ThreadPoolExecutor revalidator;
 
   public SpringCacheGateway(CacheManager cacheManager) {
+    this(cacheManager, new CacheProperties(), CacheMetrics.NOOP);
+  }
+
+  @Autowired
+  public SpringCacheGateway(CacheManager cacheManager, CacheProperties properties,
+                            ObjectProvider<CacheMetrics> metrics, ObjectProvider<HazelcastServiceRegistry> registry) {
+    this(cacheManager, properties, metrics.getIfAvailable(() -> CacheMetrics.NOOP), clientMode(registry));
+  }
+
+  public SpringCacheGateway(CacheManager cacheManager, CacheProperties properties, CacheMetrics metrics) {
+    this(cacheManager, properties, metrics, () -> false);
+  }
+
+  /**
+   * @param clientMode indique si l'IMap est accédée en client Hazelcast (mode lu à l'usage,
+   *                   la registry ne le connaît qu'une fois sa configuration chargée)
+   */
+  public SpringCacheGateway(CacheManager cacheManager, CacheProperties properties, CacheMetrics metrics,
+                            BooleanSupplier clientMode) {
     this.cacheManager = cacheManager;
+    this.loading = properties.getLoading();
+    this.metrics = metrics;
+    this.clientMode = clientMode;
+    // Pool borné : un rechargement en arrière-plan ne bloque jamais le chemin de lecture
+    AtomicInteger threads = new AtomicInteger();
+    this.revalidator = new ThreadPoolExecutor(loading.getRevalidateThreads(), loading.getRevalidateThreads(),
+        30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(loading.getRevalidateQueue()), r -> {
+          Thread t = new Thread(r, "r3edge-cache-revalidate-" + threads.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+    this.revalidator.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    revalidator.shutdownNow();
   }
 
   // ---------- READ ----------
@@ -29,13 +97,77 @@ public class SpringCacheGateway implements CacheGateway {
     return Optional.ofNullable(v);
   }
 
+  @Override
+  public <T> Map<Object, T> getAll(String cacheName, Collection<?> keys, Class<T> type) {
+    Cache cache = requireCache(cacheName);
+    Map<Object, T> found = new LinkedHashMap<>();
+    IMap<Object,Object> map = nativeMap(cache);
+    if (map == null) {
+      for (Object key : keys) {
+        T v = cache.get(key, type);
+        if (v != null) found.put(key, v);
+      }
+      return found;
+    }
+    // IMap.getAll : une opération par membre propriétaire, décodage local
+    Map<Object,Object> stored = map.getAll(new HashSet<>(keys));
+    for (Object key : keys) {
+      Object raw = stored.get(key);
+      Object value = (raw == null) ? null : decode(cache, raw);
+      metrics.get(cacheName, value != null);
+      if (value != null) found.put(key, type.cast(value));
+    }
+    return found;
+  }
+
+  // ---------- READ-THROUGH (single-flight) ----------
+
+  @Override
+  public <T> T getOrLoad(String cacheName, Object key, Class<T> type, Supplier<T> loader, WriteOpts opts) {
+    Cache cache = requireCache(cacheName);
+    IMap<Object,Object> map = nativeMap(cache);
+    SingleFlight flight = flight(cacheName);
+    T current = null;
+    boolean refresh = false;
+    Integer softTtl = (opts == null) ? null : opts.softTtlSeconds();
+    boolean expiring = opts != null && opts.ttlSeconds() != null && flight.earlyRefreshEnabled();
+    if (map == null || softTtl == null) {
+      // Lecture via le cache (L1 local, near cache, métriques du décorateur)
+      current = cache.get(key, type);
+      if (current != null) {
+        if (map == null || !expiring || !earlyRefreshDue(map, key, flight)) return current;
+        refresh = true;
+      }
+    } else {
+      // EntryView : valeur et horodatages (soft TTL, expiration) en un seul appel
+      EntryView<Object,Object> view = map.getEntryView(key);
+      current = (view == null) ? null : type.cast(decode(cache, view.getValue()));
+      metrics.get(cacheName, current != null);
+      if (current != null) {
+        flight.expiresAt(key, view.getExpirationTime());
+        if (softTtl != null && System.currentTimeMillis() - view.getLastUpdateTime() >= softTtl * 1000L) {
+          // Stale-while-revalidate : valeur périmée servie tout de suite, rechargement asynchrone
+          revalidate(cacheName, key, map, flight, current, loader, opts);
+          return current;
+        }
+        if (!flight.shouldRefreshEarly(view.getExpirationTime())) return current;
+        refresh = true;
+      }
+    }
+    Optional<T> stale = Optional.ofNullable(current);
+    boolean earlyRefresh = refresh;
+    return singleFlight(flight, key, map, earlyRefresh,
+        () -> earlyRefresh ? stale : get(cacheName, key, type),
+        () -> loadAndStore(cacheName, key, loader, opts));
+  }
+
   // ---------- WRITE: RAW (rebuild bourrin) ----------
 
   @Override
   public <T> T putRaw(String cacheName, Object key, Supplier<T> loader, WriteOpts opts) {
-    T value = loader.get();
-    putWithTtl(cacheName, key, value, opts);
-    return value;
+    // Reconstructions concurrentes d'une même clé dans la JVM : un seul appel au loader
+    return singleFlight(flight(cacheName), key, null, false, Optional::empty,
+        () -> loadAndStore(cacheName, key, loader, opts));
   }
 
   // ---------- WRITE: SMART (merge existing + delta) ----------
@@ -44,14 +176,71 @@ public class SpringCacheGateway implements CacheGateway {
   public <T> T putSmart(String cacheName, Object key, T delta,
                         BiFunction<Optional<T>, T, T> loader, WriteOpts opts) {
     Cache cache = requireCache(cacheName);
+
+    IMap<Object,Object> map = nativeMap(cache);
+    boolean client = map != null && clientMode.getAsBoolean();
+    // IMap + merger sérialisable : fusion atomique sur la partition propriétaire (1 aller-retour)
+    if (loader instanceof CacheMerger<T> merger && map != null && !client) {
+      StoreValueEncoder encoder = (cache instanceof StoreValueEncoder e) ? e : null;
+      Integer ttl = (opts == null) ? null : opts.ttlSeconds();
+      @SuppressWarnings("unchecked")
+      T merged = (T) map.executeOnKey(key,
+          new MergeEntryProcessor(merger, delta, ttl, encoder == null ? null : encoder.storeFormat()));
+      if (encoder != null) encoder.afterDirectWrite(key);
+      return merged;
+    }
+
+    // Client Hazelcast : les membres n'embarquent pas forcément la librairie (MergeEntryProcessor, classe du merger),
+    // fusion locale sous verrou de clé
+    if (loader instanceof CacheMerger<T> && client) {
+      map.lock(key);
+      try {
+        Object raw = map.get(key);
+        @SuppressWarnings("unchecked")
+        T existing = (T) (raw == null ? null : decode(cache, raw));
+        T merged = loader.apply(Optional.ofNullable(existing), delta);
+        putWithTtl(cacheName, key, merged, opts);
+        return merged;
+      } finally {
+        map.unlock(key);
+      }
+    }
+
+    // Fallback : lecture puis écriture (non atomique)
+    Cache.ValueWrapper current = cache.get(key);
     @SuppressWarnings("unchecked")
-    T existing = (T) (cache.get(key) == null ? null : cache.get(key).get());
+    T existing = (T) (current == null ? null : current.get());
 
     T merged = loader.apply(Optional.ofNullable(existing), delta);
     putWithTtl(cacheName, key, merged, opts);
     return merged;
   }
 
+  // ---------- WRITE: BATCH ----------
+
+  @Override
+  public void putAll(String cacheName, Map<?, ?> entries, WriteOpts opts) {
+    Cache cache = requireCache(cacheName);
+    IMap<Object,Object> map = nativeMap(cache);
+    if (map == null) {
+      entries.forEach(cache::put);
+      return;
+    }
+    Map<Object,Object> stored = new HashMap<>(entries.size() * 2);
+    entries.forEach((k, v) -> stored.put(k, encode(cache, v)));
+    Integer ttl = (opts == null) ? null : opts.ttlSeconds();
+    if (ttl == null) {
+      map.setAll(stored);
+    } else {
+      // setAll n'accepte pas de TTL : écritures asynchrones en parallèle, attendues ensemble
+      List<CompletionStage<Void>> writes = stored.entrySet().stream()
+          .map(e -> map.setAsync(e.getKey(), e.getValue(), ttl.longValue(), TimeUnit.SECONDS))
+          .toList();
+      awaitAll(writes);
+    }
+    afterDirectWrite(cache, entries.keySet());
+  }
+
   // ---------- EVICT ----------
 
   @Override
@@ -64,6 +253,18 @@ public class SpringCacheGateway implements CacheGateway {
     requireCache(cacheName).clear();
   }
 
+  @Override
+  public void evictAll(String cacheName, Collection<?> keys) {
+    Cache cache = requireCache(cacheName);
+    IMap<Object,Object> map = nativeMap(cache);
+    if (map == null) {
+      keys.forEach(cache::evict);
+      return;
+    }
+    awaitAll(keys.stream().map(map::deleteAsync).toList());
+    afterDirectWrite(cache, keys);
+  }
+
   // ---------- Helpers ----------
 
   private Cache requireCache(String cacheName) {
@@ -72,6 +273,92 @@ public class SpringCacheGateway implements CacheGateway {
     return c;
   }
 
+  private <T> void revalidate(String cacheName, Object key, IMap<Object,Object> map, SingleFlight flight,
+                              T stale, Supplier<T> loader, WriteOpts opts) {
+    Map.Entry<String, Object> marker = Map.entry(cacheName, key);
+    if (!revalidating.add(marker)) return;
+    try {
+      revalidator.execute(() -> {
+        try {
+          singleFlight(flight, key, map, true, () -> Optional.of(stale),
+              () -> loadAndStore(cacheName, key, loader, opts));
+        } catch (RuntimeException e) {
+          log.warn("⚠️ Rechargement en arrière-plan échoué pour {}/{} : {}", cacheName, key, e.getMessage());
+        } finally {
+          revalidating.remove(marker);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      revalidating.remove(marker);
+      log.debug("ℹ️ File de rechargement pleine, valeur périmée conservée pour {}/{}", cacheName, key);
+    }
+  }
+
+  // Expiration mémorisée localement : l'EntryView n'est lue que si elle est inconnue ou l'échéance proche
+  private static boolean earlyRefreshDue(IMap<Object,Object> map, Object key, SingleFlight flight) {
+    long known = flight.knownExpiration(key);
+    if (known != 0 && !flight.shouldRefreshEarly(known)) return false;
+    EntryView<Object,Object> view = map.getEntryView(key);
+    long expiration = (view == null) ? 0 : view.getExpirationTime();
+    flight.expiresAt(key, expiration);
+    if (view == null) return false;
+    // Échéance confirmée : pas de second tirage, qui réduirait la probabilité XFetch
+    return expiration == known || flight.shouldRefreshEarly(expiration);
+  }
+
+  private <T> T loadAndStore(String cacheName, Object key, Supplier<T> loader, WriteOpts opts) {
+    long start = System.nanoTime();
+    T value = loader.get();
+    metrics.load(cacheName, System.nanoTime() - start);
+    putWithTtl(cacheName, key, value, opts);
+    return value;
+  }
+
+  private SingleFlight flight(String cacheName) {
+    return flights.computeIfAbsent(cacheName, n -> new SingleFlight(loading));
+  }
+
+  private static BooleanSupplier clientMode(ObjectProvider<HazelcastServiceRegistry> registry) {
+    HazelcastServiceRegistry r = registry.getIfAvailable();
+    return (r == null) ? () -> false : r::isClientMode;
+  }
+
+  private static <T> T singleFlight(SingleFlight flight, Object key, IMap<Object,Object> map, boolean refresh,
+                                    Supplier<Optional<T>> current, Callable<T> loader) {
+    try {
+      return flight.load(key, map, refresh, current, loader);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading cache key " + key, e);
+    } catch (Exception e) {
+      throw new IllegalStateException("Cache load failed for key " + key, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static IMap<Object,Object> nativeMap(Cache cache) {
+    return (cache.getNativeCache() instanceof IMap<?, ?> iMap) ? (IMap<Object,Object>) iMap : null;
+  }
+
+  private static Object encode(Cache cache, Object value) {
+    return (cache instanceof StoreValueEncoder encoder) ? encoder.encodeForStore(value) : value;
+  }
+
+  private static Object decode(Cache cache, Object stored) {
+    return (cache instanceof StoreValueEncoder encoder) ? encoder.decodeFromStore(stored) : stored;
+  }
+
+  private static void afterDirectWrite(Cache cache, Collection<?> keys) {
+    if (cache instanceof StoreValueEncoder encoder) keys.forEach(encoder::afterDirectWrite);
+  }
+
+  private static void awaitAll(List<? extends CompletionStage<?>> stages) {
+    CompletableFuture.allOf(stages.stream().map(CompletionStage::toCompletableFuture)
+        .toArray(CompletableFuture[]::new)).join();
+  }
+
   private <T> void putWithTtl(String cacheName, Object key, T value, WriteOpts opts) {
     Cache cache = requireCache(cacheName);
     Integer ttl = (opts == null) ? null : opts.ttlSeconds();
@@ -81,7 +368,11 @@ public class SpringCacheGateway implements CacheGateway {
     if (ttl != null && nativeCache instanceof IMap<?, ?> iMap) {
       @SuppressWarnings("unchecked")
       IMap<Object,Object> map = (IMap<Object,Object>) iMap;
-      map.set(key, value, ttl.longValue(), TimeUnit.SECONDS);
+      // Même format de stockage que le décorateur (compression)
+      Object stored = (cache instanceof StoreValueEncoder encoder) ? encoder.encodeForStore(value) : value;
+      map.set(key, stored, ttl.longValue(), TimeUnit.SECONDS);
+      flight(cacheName).expiresAt(key, System.currentTimeMillis() + ttl * 1000L);
+      if (cache instanceof StoreValueEncoder encoder) encoder.afterDirectWrite(key);
     } else {
       cache.put(key, value);
     }
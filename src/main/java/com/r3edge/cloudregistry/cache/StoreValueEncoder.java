@@ -0,0 +1,49 @@
+package com.r3edge.cloudregistry.cache;
+
+/**
+ * Implémenté par les décorateurs de {@link org.springframework.cache.Cache}
+ * qui transforment les valeurs avant stockage (compression, JSON).
+ * <p>
+ * Permet à {@link SpringCacheGateway} d'écrire directement dans l'IMap
+ * (TTL natif, opérations groupées) dans le même format que le décorateur.
+ * </p>
+ */
+interface StoreValueEncoder {
+
+	/**
+	 * Transforme une valeur applicative dans son format de stockage.
+	 *
+	 * @param value valeur applicative
+	 * @return valeur à stocker
+	 */
+	Object encodeForStore(Object value);
+
+	/**
+	 * Restitue une valeur lue directement dans l'IMap.
+	 *
+	 * @param stored valeur stockée
+	 * @return valeur applicative
+	 */
+	default Object decodeFromStore(Object stored) {
+		return stored;
+	}
+
+	/**
+	 * Réglage permettant de reconstruire le codec côté membre Hazelcast
+	 * (EntryProcessor).
+	 *
+	 * @return réglage du codec, ou {@code null} si les valeurs sont stockées
+	 *         telles quelles
+	 */
+	default CacheProperties.Compression storeFormat() {
+		return null;
+	}
+
+	/**
+	 * Notifie une écriture faite directement dans l'IMap, hors décorateur.
+	 *
+	 * @param key clé écrite
+	 */
+	default void afterDirectWrite(Object key) {
+	}
+}
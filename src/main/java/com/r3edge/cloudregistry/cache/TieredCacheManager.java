@@ -0,0 +1,274 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Décorateur deux niveaux : un cache local borné (L1, taille + TTL) devant le
+ * cache Hazelcast (L2).
+ * <p>
+ * L’invalidation du L1 repose sur un listener (sans valeur) posé sur chaque
+ * {@link IMap} : toute écriture, suppression ou expiration dans le cluster,
+ * y compris les écritures directes sur l’IMap, invalide la clé localement.
+ * </p>
+ */
+@Slf4j
+final class TieredCacheManager implements CacheManager {
+
+	private final CacheManager delegate;
+	private final CacheProperties.Tiered properties;
+	private final ConcurrentMap<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+	TieredCacheManager(CacheManager delegate, CacheProperties.Tiered properties) {
+		this.delegate = delegate;
+		this.properties = properties;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		return caches.computeIfAbsent(name, this::createCache);
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return delegate.getCacheNames();
+	}
+
+	private TieredCache createCache(String name) {
+		Cache target = delegate.getCache(name);
+		CacheProperties.Local settings = properties.forCache(name);
+		LocalCache local = new LocalCache(settings.getMaxSize(), settings.getTtl().toNanos());
+		if (target.getNativeCache() instanceof IMap<?, ?> map) {
+			map.addEntryListener(new InvalidationListener(local), false);
+			log.info("✅ Cache deux niveaux '{}' : L1 max={} ttl={}", name, settings.getMaxSize(), settings.getTtl());
+		}
+		return new TieredCache(target, local);
+	}
+
+	/**
+	 * Cache local LRU borné, avec durée de vie par entrée.
+	 */
+	static final class LocalCache {
+		private final long ttlNanos;
+		private final Map<Object, Entry> entries;
+		/** Incrémenté à chaque invalidation, pour ne pas réinsérer une valeur lue avant. */
+		private final AtomicLong version = new AtomicLong();
+
+		private record Entry(Object value, long expiresAt) {
+		}
+
+		LocalCache(int maxSize, long ttlNanos) {
+			this.ttlNanos = ttlNanos;
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+					return size() > maxSize;
+				}
+			};
+		}
+
+		synchronized Cache.ValueWrapper get(Object key) {
+			Entry entry = entries.get(key);
+			if (entry == null)
+				return null;
+			if (System.nanoTime() - entry.expiresAt() > 0) {
+				entries.remove(key);
+				return null;
+			}
+			return new SimpleValueWrapper(entry.value());
+		}
+
+		long version() {
+			return version.get();
+		}
+
+		/** Insère la valeur si aucune invalidation n’est survenue depuis {@code expectedVersion}. */
+		synchronized void putIfCurrent(Object key, Object value, long expectedVersion) {
+			if (version.get() == expectedVersion) {
+				entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+			}
+		}
+
+		synchronized void invalidate(Object key) {
+			version.incrementAndGet();
+			entries.remove(key);
+		}
+
+		synchronized void clear() {
+			version.incrementAndGet();
+			entries.clear();
+		}
+	}
+
+	static final class TieredCache implements Cache, StoreValueEncoder {
+		private final Cache target;
+		private final LocalCache local;
+
+		TieredCache(Cache target, LocalCache local) {
+			this.target = target;
+			this.local = local;
+		}
+
+		@Override
+		public String getName() {
+			return target.getName();
+		}
+
+		@Override
+		public Object getNativeCache() {
+			return target.getNativeCache();
+		}
+
+		@Override
+		public Object encodeForStore(Object value) {
+			return target instanceof StoreValueEncoder encoder ? encoder.encodeForStore(value) : value;
+		}
+
+		@Override
+		public Object decodeFromStore(Object stored) {
+			return target instanceof StoreValueEncoder encoder ? encoder.decodeFromStore(stored) : stored;
+		}
+
+		@Override
+		public CacheProperties.Compression storeFormat() {
+			return target instanceof StoreValueEncoder encoder ? encoder.storeFormat() : null;
+		}
+
+		@Override
+		public void afterDirectWrite(Object key) {
+			local.invalidate(key);
+		}
+
+		@Override
+		public ValueWrapper get(Object key) {
+			ValueWrapper hit = local.get(key);
+			if (hit != null)
+				return hit;
+			long version = local.version();
+			ValueWrapper remote = target.get(key);
+			if (remote != null) {
+				local.putIfCurrent(key, remote.get(), version);
+			}
+			return remote;
+		}
+
+		@Override
+		public <T> T get(Object key, Class<T> type) {
+			ValueWrapper w = get(key);
+			return w == null ? null : type.cast(w.get());
+		}
+
+		@Override
+		public <T> T get(Object key, Callable<T> valueLoader) {
+			ValueWrapper hit = local.get(key);
+			if (hit != null) {
+				@SuppressWarnings("unchecked")
+				T val = (T) hit.get();
+				return val;
+			}
+			long version = local.version();
+			T value = target.get(key, valueLoader);
+			local.putIfCurrent(key, value, version);
+			return value;
+		}
+
+		@Override
+		public void put(Object key, Object value) {
+			target.put(key, value);
+			local.invalidate(key);
+		}
+
+		@Override
+		public ValueWrapper putIfAbsent(Object key, Object value) {
+			ValueWrapper previous = target.putIfAbsent(key, value);
+			local.invalidate(key);
+			return previous;
+		}
+
+		@Override
+		public void evict(Object key) {
+			target.evict(key);
+			local.invalidate(key);
+		}
+
+		@Override
+		public void clear() {
+			target.clear();
+			local.clear();
+		}
+	}
+
+	/**
+	 * Invalide le L1 sur tout changement de la map Hazelcast sous-jacente.
+	 */
+	private static final class InvalidationListener implements EntryAddedListener<Object, Object>,
+			EntryUpdatedListener<Object, Object>, EntryRemovedListener<Object, Object>,
+			EntryEvictedListener<Object, Object>, EntryExpiredListener<Object, Object>, MapClearedListener,
+			MapEvictedListener {
+
+		private final LocalCache local;
+
+		InvalidationListener(LocalCache local) {
+			this.local = local;
+		}
+
+		@Override
+		public void entryAdded(EntryEvent<Object, Object> event) {
+			local.invalidate(event.getKey());
+		}
+
+		@Override
+		public void entryUpdated(EntryEvent<Object, Object> event) {
+			local.invalidate(event.getKey());
+		}
+
+		@Override
+		public void entryRemoved(EntryEvent<Object, Object> event) {
+			local.invalidate(event.getKey());
+		}
+
+		@Override
+		public void entryEvicted(EntryEvent<Object, Object> event) {
+			local.invalidate(event.getKey());
+		}
+
+		@Override
+		public void entryExpired(EntryEvent<Object, Object> event) {
+			local.invalidate(event.getKey());
+		}
+
+		@Override
+		public void mapCleared(MapEvent event) {
+			local.clear();
+		}
+
+		@Override
+		public void mapEvicted(MapEvent event) {
+			local.clear();
+		}
+	}
+}
@@ -0,0 +1,418 @@
+package com.r3edge.cloudregistry.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Codec des valeurs stockées dans Hazelcast : encodage JSON optionnel des
+ * objets, puis compression.
+ * <p>
+ * Format stocké : un octet d'en-tête suivi du contenu.
+ * </p>
+ * <ul>
+ * <li>{@link #ZLIB} : chaîne UTF-8 en flux zlib (deflate, éventuellement avec
+ * dictionnaire prédéfini, identifié par son Adler-32 dans le flux) ;</li>
+ * <li>{@link #JSON} / {@link #JSON_ZLIB} : nom de classe (longueur sur deux
+ * octets puis UTF-8) suivi du JSON, brut ou en flux zlib ;</li>
+ * <li>{@link #RAW} : tableau d'octets applicatif, recopié tel quel, afin que
+ * son premier octet ne soit jamais pris pour un en-tête.</li>
+ * </ul>
+ * <p>
+ * Les valeurs GZIP historiques (sans en-tête) sont reconnues à leur signature.
+ * Les contenus plus courts que le seuil ne sont pas compressés. Les objets
+ * autres que les chaînes ne sont encodés en JSON que si {@code objects=json} ;
+ * sinon ils sont confiés tels quels à Hazelcast. Le JSON est relu dans la
+ * classe d'origine : une collection générique doit être portée par un DTO.
+ * Seules sont relues les classes déjà encodées par cette JVM et celles de
+ * {@code trusted-types} : le nom de classe provient du cache partagé, toute
+ * autre valeur JSON est traitée comme absente (aucune classe n'est chargée).
+ * </p>
+ * <p>
+ * Les {@link Deflater}/{@link Inflater} et les tampons d'écriture sont
+ * réutilisés par thread. Jackson écrit directement dans le tampon et lit
+ * directement depuis le flux de décompression, sans copie intermédiaire.
+ * </p>
+ */
+@Slf4j
+final class ValueCodec {
+
+	/** En-tête d'un tableau d'octets applicatif, stocké sans transformation */
+	static final byte RAW = 0x00;
+	/** En-tête d'une chaîne en flux zlib (deflate, avec ou sans dictionnaire) */
+	static final byte ZLIB = 0x01;
+	/** En-tête d'un objet JSON non compressé */
+	static final byte JSON = 0x02;
+	/** En-tête d'un objet JSON en flux zlib */
+	static final byte JSON_ZLIB = 0x03;
+
+	/** Capacité au-delà de laquelle un tampon n'est pas conservé par le thread */
+	private static final int MAX_POOLED_BUFFER = 1 << 20;
+
+	private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+	private static final ThreadLocal<PooledBuffer> SOURCE_BUFFERS = ThreadLocal.withInitial(PooledBuffer::new);
+	private static final ThreadLocal<PooledBuffer> TARGET_BUFFERS = ThreadLocal.withInitial(PooledBuffer::new);
+	/** Classes encodées en JSON par cette JVM, relues sans configuration */
+	private static final Set<String> ENCODED_TYPES = ConcurrentHashMap.newKeySet();
+
+	private final CacheProperties.Compression settings;
+	private final boolean enabled;
+	private final int minSize;
+	private final byte[] dictionary;
+	private final ObjectMapper objectMapper;
+	private final List<String> trustedTypes;
+	private final ThreadLocal<Deflater> deflaters;
+	private Recorder recorder = Recorder.NONE;
+
+	/**
+	 * Observateur des compressions effectuées (métriques).
+	 */
+	@FunctionalInterface
+	interface Recorder {
+		/** Observateur sans effet */
+		Recorder NONE = (rawBytes, storedBytes, nanos) -> {
+		};
+
+		/**
+		 * @param rawBytes    taille du contenu compressé
+		 * @param storedBytes taille stockée (en-tête compris)
+		 * @param nanos       durée de la compression
+		 */
+		void compressed(int rawBytes, int storedBytes, long nanos);
+	}
+
+	private ValueCodec(CacheProperties.Compression settings, boolean enabled, int level, int minSize, byte[] dictionary,
+			ObjectMapper objectMapper) {
+		this.settings = settings;
+		this.enabled = enabled;
+		this.minSize = minSize;
+		this.dictionary = dictionary;
+		this.objectMapper = objectMapper;
+		this.trustedTypes = settings.getTrustedTypes() == null ? List.of() : settings.getTrustedTypes();
+		this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level));
+	}
+
+	/**
+	 * Construit un codec à partir du réglage effectif d'un cache.
+	 *
+	 * @param settings     réglage de compression
+	 * @param objectMapper mapper JSON utilisé pour {@code objects=json}
+	 * @return codec
+	 */
+	static ValueCodec of(CacheProperties.Compression settings, ObjectMapper objectMapper) {
+		String codec = settings.getCodec().toLowerCase(Locale.ROOT);
+		ObjectMapper mapper = switch (settings.getObjects().toLowerCase(Locale.ROOT)) {
+		case "none" -> null;
+		case "json" -> objectMapper;
+		default -> throw new IllegalArgumentException("Encodage d'objets inconnu : " + settings.getObjects());
+		};
+		return switch (codec) {
+		case "none" -> new ValueCodec(settings, false, Deflater.DEFAULT_COMPRESSION, Integer.MAX_VALUE, null, mapper);
+		case "fast" -> new ValueCodec(settings, true, Deflater.BEST_SPEED, settings.getMinSize(), null, mapper);
+		case "deflate" -> new ValueCodec(settings, true, settings.getLevel(), settings.getMinSize(), null, mapper);
+		case "dictionary" -> {
+			if (settings.getDictionary() == null || settings.getDictionary().isEmpty())
+				throw new IllegalArgumentException("r3edge.cache.compression.dictionary manquant pour le codec dictionary");
+			yield new ValueCodec(settings, true, settings.getLevel(), settings.getMinSize(),
+					settings.getDictionary().getBytes(StandardCharsets.UTF_8), mapper);
+		}
+		default -> throw new IllegalArgumentException("Codec de compression inconnu : " + settings.getCodec());
+		};
+	}
+
+	/**
+	 * Associe un observateur des compressions, à appeler avant la publication du
+	 * codec.
+	 *
+	 * @param recorder observateur
+	 * @return ce codec
+	 */
+	ValueCodec recordingTo(Recorder recorder) {
+		this.recorder = recorder;
+		return this;
+	}
+
+	/**
+	 * Retourne le réglage dont est issu ce codec, permettant de le reconstruire
+	 * sur un autre membre.
+	 *
+	 * @return réglage effectif
+	 */
+	CacheProperties.Compression settings() {
+		return settings;
+	}
+
+	/**
+	 * Encode une valeur avant stockage.
+	 *
+	 * @param value valeur applicative
+	 * @return valeur à stocker
+	 */
+	Object encode(Object value) {
+		if (value instanceof String s) {
+			if (!enabled)
+				return value;
+			byte[] raw = s.getBytes(StandardCharsets.UTF_8);
+			if (raw.length < minSize)
+				return value;
+			return deflate(ZLIB, raw, 0, 0, raw.length);
+		}
+		if (value instanceof byte[] bytes) {
+			byte[] stored = new byte[bytes.length + 1];
+			stored[0] = RAW;
+			System.arraycopy(bytes, 0, stored, 1, bytes.length);
+			return stored;
+		}
+		if (objectMapper == null || value == null || ClassUtils.isPrimitiveOrWrapper(value.getClass()))
+			return value;
+		return encodeJson(value);
+	}
+
+	/**
+	 * Décode une valeur lue dans le cache.
+	 *
+	 * @param stored valeur stockée
+	 * @return valeur applicative, ou {@code null} pour une valeur JSON d'une
+	 *         classe non autorisée (à traiter comme absente)
+	 */
+	Object decode(Object stored) {
+		if (!(stored instanceof byte[] bytes) || bytes.length == 0)
+			return stored;
+		if (bytes.length > 1 && bytes[0] == (byte) 0x1f && bytes[1] == (byte) 0x8b)
+			return gunzip(bytes);
+		return switch (bytes[0]) {
+		case RAW -> Arrays.copyOfRange(bytes, 1, bytes.length);
+		case ZLIB -> inflateToString(bytes);
+		case JSON, JSON_ZLIB -> decodeJson(bytes);
+		default -> stored;
+		};
+	}
+
+	private byte[] encodeJson(Object value) {
+		PooledBuffer source = SOURCE_BUFFERS.get();
+		source.reset();
+		try {
+			ENCODED_TYPES.add(value.getClass().getName());
+			byte[] type = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+			source.write(type.length >>> 8);
+			source.write(type.length);
+			source.write(type);
+			int payload = source.size();
+			objectMapper.writeValue(new NonClosingOutputStream(source), value);
+			if (enabled && source.size() - payload >= minSize)
+				return deflate(JSON_ZLIB, source.buffer(), 0, payload, source.size());
+			byte[] stored = new byte[source.size() + 1];
+			stored[0] = JSON;
+			System.arraycopy(source.buffer(), 0, stored, 1, source.size());
+			return stored;
+		} catch (IOException e) {
+			throw new IllegalStateException("Encodage JSON impossible pour " + value.getClass().getName(), e);
+		} finally {
+			source.release(SOURCE_BUFFERS);
+		}
+	}
+
+	private Object decodeJson(byte[] stored) {
+		int typeLength = ((stored[1] & 0xff) << 8) | (stored[2] & 0xff);
+		String className = new String(stored, 3, typeLength, StandardCharsets.UTF_8);
+		int payload = 3 + typeLength;
+		if (!isTrusted(className)) {
+			log.debug("ℹ️ Valeur JSON de classe non autorisée ignorée : {}", className);
+			return null;
+		}
+		ObjectMapper mapper = objectMapper != null ? objectMapper : FallbackMapper.INSTANCE;
+		try {
+			Class<?> type = ClassUtils.forName(className, ClassUtils.getDefaultClassLoader());
+			InputStream in = stored[0] == JSON
+					? new ByteArrayInputStream(stored, payload, stored.length - payload)
+					: new InflatingStream(prepareInflater(stored, payload), dictionary);
+			return mapper.readValue(in, type);
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException("Décodage JSON impossible pour " + className, e);
+		}
+	}
+
+	/** Classe encodée par cette JVM, ou listée (classe ou paquetage) dans {@code trusted-types}. */
+	private boolean isTrusted(String className) {
+		if (ENCODED_TYPES.contains(className))
+			return true;
+		for (String trusted : trustedTypes) {
+			if (className.equals(trusted) || className.startsWith(trusted + ".") || className.startsWith(trusted + "$"))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Écrit l'en-tête, recopie {@code raw[from..compressFrom[} telle quelle puis
+	 * compresse {@code raw[compressFrom..to[}.
+	 */
+	private byte[] deflate(byte header, byte[] raw, int from, int compressFrom, int to) {
+		long start = System.nanoTime();
+		Deflater deflater = deflaters.get();
+		deflater.reset();
+		if (dictionary != null) {
+			deflater.setDictionary(dictionary);
+		}
+		PooledBuffer target = TARGET_BUFFERS.get();
+		target.reset();
+		try {
+			target.write(header);
+			target.write(raw, from, compressFrom - from);
+			try (DeflaterOutputStream out = new DeflaterOutputStream(new NonClosingOutputStream(target), deflater, 8192)) {
+				out.write(raw, compressFrom, to - compressFrom);
+			}
+			byte[] stored = target.toByteArray();
+			recorder.compressed(to - compressFrom, stored.length, System.nanoTime() - start);
+			return stored;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			target.release(TARGET_BUFFERS);
+		}
+	}
+
+	private String inflateToString(byte[] stored) {
+		PooledBuffer target = TARGET_BUFFERS.get();
+		target.reset();
+		try {
+			new InflatingStream(prepareInflater(stored, 1), dictionary).transferTo(target);
+			return target.toString(StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		} finally {
+			target.release(TARGET_BUFFERS);
+		}
+	}
+
+	private static Inflater prepareInflater(byte[] stored, int offset) {
+		Inflater inflater = INFLATERS.get();
+		inflater.reset();
+		inflater.setInput(stored, offset, stored.length - offset);
+		return inflater;
+	}
+
+	private static String gunzip(byte[] gz) {
+		try (var gis = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+			return new String(gis.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Flux de lecture décompressant à la demande une entrée déjà fournie à
+	 * l'{@link Inflater}, en appliquant le dictionnaire prédéfini si le flux
+	 * l'exige.
+	 */
+	private static final class InflatingStream extends InputStream {
+		private final Inflater inflater;
+		private final byte[] dictionary;
+
+		InflatingStream(Inflater inflater, byte[] dictionary) {
+			this.inflater = inflater;
+			this.dictionary = dictionary;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0)
+				return 0;
+			try {
+				while (true) {
+					int n = inflater.inflate(b, off, len);
+					if (n > 0)
+						return n;
+					if (inflater.finished())
+						return -1;
+					if (inflater.needsDictionary()) {
+						if (dictionary == null)
+							throw new IOException("Valeur compressée avec un dictionnaire non configuré");
+						inflater.setDictionary(dictionary);
+					} else if (inflater.needsInput()) {
+						throw new IOException("Valeur compressée tronquée");
+					}
+				}
+			} catch (DataFormatException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Tampon d'écriture réutilisable exposant son tableau interne.
+	 */
+	private static final class PooledBuffer extends ByteArrayOutputStream {
+		PooledBuffer() {
+			super(1024);
+		}
+
+		byte[] buffer() {
+			return buf;
+		}
+
+		/** Ne conserve pas pour le thread un tampon devenu trop grand. */
+		void release(ThreadLocal<PooledBuffer> pool) {
+			if (buf.length > MAX_POOLED_BUFFER) {
+				pool.remove();
+			}
+		}
+	}
+
+	/**
+	 * Empêche Jackson et {@link DeflaterOutputStream} de fermer le tampon
+	 * partagé.
+	 */
+	private static final class NonClosingOutputStream extends OutputStream {
+		private final OutputStream target;
+
+		NonClosingOutputStream(OutputStream target) {
+			this.target = target;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			target.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			target.write(b, off, len);
+		}
+
+		@Override
+		public void close() {
+			// le tampon reste ouvert pour le thread
+		}
+	}
+
+	/** Mapper de lecture quand une valeur JSON est lue sans {@code objects=json}. */
+	private static final class FallbackMapper {
+		static final ObjectMapper INSTANCE = new ObjectMapper().findAndRegisterModules();
+	}
+}
@@ -0,0 +1,45 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+
+/**
+ * SPI de filtrage des candidates, appliqué avant la stratégie de load
+ * balancing.
+ * <p>
+ * Toute implémentation déclarée comme bean Spring est appliquée à chaque
+ * résolution, dans l'ordre défini par {@code @Order}. Un filtre ne doit pas
+ * allouer lorsqu'il retient toutes les candidates.
+ * </p>
+ */
+public interface CandidateFilter {
+
+    /**
+     * Filtre les candidates d'une résolution.
+     *
+     * @param key        clé de résolution (nom du service ou de la feature)
+     * @param candidates candidates issues de la table de routage ou du filtre précédent
+     * @return les candidates retenues ({@code candidates} elles-mêmes si aucune n'est écartée)
+     */
+    Candidates filter(String key, Candidates candidates);
+
+    /**
+     * Indique si le filtre s'applique aussi à la résolution par clé de routage
+     * (hachage cohérent). Un filtre de préférence, qui réduirait les
+     * candidates à quelques instances proches, casserait la répartition des
+     * clés et doit retourner {@code false}.
+     *
+     * @return {@code true} par défaut
+     */
+    default boolean appliesToRoutingKeys() {
+        return true;
+    }
+
+    /**
+     * Signale le retrait d'une instance de la registry, pour libérer l'état
+     * éventuellement conservé à son sujet.
+     *
+     * @param descriptor dernier descripteur connu de l'instance retirée
+     */
+    default void instanceRemoved(ServiceDescriptor descriptor) {
+    }
+}
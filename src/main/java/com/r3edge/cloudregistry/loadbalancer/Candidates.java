@@ -0,0 +1,73 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+
+/**
+ * Instances candidates à une résolution, avec leurs URLs.
+ * <p>
+ * Les deux tableaux sont alignés : {@code urls[i]} est l'URL (interne ou
+ * externe) de {@code instances[i]}. Ils sont partagés avec la table de routage
+ * et ne doivent pas être modifiés.
+ * </p>
+ *
+ * @param instances descripteurs des instances candidates
+ * @param urls      URLs non nulles des instances, dans le même ordre
+ */
+public record Candidates(ServiceDescriptor[] instances, String[] urls) {
+
+    /** Aucune candidate. */
+    public static final Candidates EMPTY = new Candidates(new ServiceDescriptor[0], new String[0]);
+
+    /**
+     * Construit les candidates d'un ensemble d'instances, en écartant celles
+     * dont l'URL est absente.
+     *
+     * @param instances descripteurs
+     * @param url       extraction de l'URL interne ou externe
+     * @return candidates alignées
+     */
+    public static Candidates of(Collection<ServiceDescriptor> instances, Function<ServiceDescriptor, String> url) {
+        ServiceDescriptor[] retained = instances.stream().filter(d -> url.apply(d) != null)
+            .toArray(ServiceDescriptor[]::new);
+        String[] urls = new String[retained.length];
+        for (int i = 0; i < retained.length; i++) {
+            urls[i] = Objects.requireNonNull(url.apply(retained[i]));
+        }
+        return new Candidates(retained, urls);
+    }
+
+    /**
+     * Retourne le nombre de candidates.
+     *
+     * @return taille des tableaux
+     */
+    public int size() {
+        return urls.length;
+    }
+
+    /**
+     * Retourne les candidates retenues par un masque.
+     *
+     * @param keep     masque aligné sur les tableaux
+     * @param retained nombre de valeurs {@code true} du masque
+     * @return les candidates retenues, ou {@code this} si toutes le sont
+     */
+    public Candidates retain(boolean[] keep, int retained) {
+        if (retained == urls.length)
+            return this;
+        ServiceDescriptor[] keptInstances = new ServiceDescriptor[retained];
+        String[] keptUrls = new String[retained];
+        int j = 0;
+        for (int i = 0; i < urls.length; i++) {
+            if (keep[i]) {
+                keptInstances[j] = instances[i];
+                keptUrls[j++] = urls[i];
+            }
+        }
+        return new Candidates(keptInstances, keptUrls);
+    }
+}
@@ -0,0 +1,174 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Anneau de hachage cohérent à nœuds virtuels, associant une clé de routage
+ * (utilisateur, tenant, ...) à un instanceId stable.
+ * <p>
+ * Chaque instance occupe {@code virtualNodes} points de l'anneau ; une clé
+ * revient à la première instance rencontrée dans le sens horaire à partir de
+ * son propre hachage. L'ajout ou le retrait d'une instance ne déplace donc
+ * qu'environ {@code 1/n} des clés.
+ * </p>
+ * <p>
+ * L'anneau est immuable : {@link #update(Collection)} produit un nouvel anneau
+ * en ne calculant que les points des instances ajoutées.
+ * </p>
+ */
+public final class ConsistentHashRing {
+
+    private final int virtualNodes;
+    private final long[] points;
+    private final String[] owners;
+    private final Set<String> members;
+
+    private ConsistentHashRing(int virtualNodes, long[] points, String[] owners, Set<String> members) {
+        this.virtualNodes = virtualNodes;
+        this.points = points;
+        this.owners = owners;
+        this.members = members;
+    }
+
+    /**
+     * Construit l'anneau d'un ensemble d'instances.
+     *
+     * @param instanceIds  identifiants des instances
+     * @param virtualNodes points par instance
+     * @return l'anneau
+     */
+    public static ConsistentHashRing of(Collection<String> instanceIds, int virtualNodes) {
+        return new ConsistentHashRing(Math.max(1, virtualNodes), new long[0], new String[0], Set.of())
+            .update(instanceIds);
+    }
+
+    /**
+     * Retourne l'anneau correspondant à un nouvel ensemble d'instances, en
+     * retirant les points des instances disparues et en insérant ceux des
+     * nouvelles.
+     *
+     * @param instanceIds identifiants des instances
+     * @return {@code this} si l'ensemble est inchangé, sinon un nouvel anneau
+     */
+    public ConsistentHashRing update(Collection<String> instanceIds) {
+        Set<String> next = new HashSet<>(instanceIds);
+        if (next.equals(members))
+            return this;
+        Set<String> added = new HashSet<>(next);
+        added.removeAll(members);
+
+        // Points des instances ajoutées, triés
+        int addedCount = added.size() * virtualNodes;
+        long[] newPoints = new long[addedCount];
+        String[] newOwners = new String[addedCount];
+        int k = 0;
+        for (String id : added) {
+            for (int v = 0; v < virtualNodes; v++) {
+                newPoints[k] = hash(id + '#' + v);
+                newOwners[k++] = id;
+            }
+        }
+        sort(newPoints, newOwners);
+
+        // Fusion avec les points conservés, déjà triés
+        long[] mergedPoints = new long[points.length + addedCount];
+        String[] mergedOwners = new String[mergedPoints.length];
+        int i = 0;
+        int j = 0;
+        int m = 0;
+        while (i < points.length || j < addedCount) {
+            if (i < points.length && !next.contains(owners[i])) {
+                i++;
+            } else if (j >= addedCount || i < points.length && points[i] <= newPoints[j]) {
+                mergedPoints[m] = points[i];
+                mergedOwners[m++] = owners[i++];
+            } else {
+                mergedPoints[m] = newPoints[j];
+                mergedOwners[m++] = newOwners[j++];
+            }
+        }
+        return new ConsistentHashRing(virtualNodes, Arrays.copyOf(mergedPoints, m), Arrays.copyOf(mergedOwners, m),
+            Set.copyOf(next));
+    }
+
+    /**
+     * Retourne l'instance propriétaire d'une clé.
+     *
+     * @param routingKey clé de routage
+     * @return instanceId, ou {@code null} si l'anneau est vide
+     */
+    public String owner(String routingKey) {
+        return owner(routingKey, id -> true);
+    }
+
+    /**
+     * Retourne la première instance éligible à partir de la position d'une clé,
+     * dans le sens horaire. Une instance inéligible (éjectée, filtrée) cède ainsi
+     * ses clés à ses successeurs sans déplacer les autres.
+     *
+     * @param routingKey clé de routage
+     * @param eligible   instances acceptables
+     * @return instanceId, ou {@code null} si aucune instance n'est éligible
+     */
+    public String owner(String routingKey, Predicate<String> eligible) {
+        int n = points.length;
+        if (n == 0)
+            return null;
+        int start = Arrays.binarySearch(points, hash(routingKey));
+        if (start < 0)
+            start = -start - 1;
+        for (int step = 0; step < n; step++) {
+            String candidate = owners[(start + step) % n];
+            if (eligible.test(candidate))
+                return candidate;
+        }
+        return null;
+    }
+
+    /**
+     * Retourne les instances présentes dans l'anneau.
+     *
+     * @return ensemble immuable des instanceIds
+     */
+    public Set<String> members() {
+        return members;
+    }
+
+    /**
+     * Hachage 64 bits (FNV-1a suivi du mélange final de MurmurHash3).
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static void sort(long[] keys, String[] values) {
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+        long[] sortedKeys = new long[keys.length];
+        String[] sortedValues = new String[values.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedValues[i] = values[order[i]];
+        }
+        System.arraycopy(sortedKeys, 0, keys, 0, keys.length);
+        System.arraycopy(sortedValues, 0, values, 0, values.length);
+    }
+}
@@ -0,0 +1,50 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Comptabilise localement les requêtes en cours par URL d'instance.
+ * <p>
+ * Les clients HTTP appellent {@link #begin(String)} avant l'appel et
+ * {@link #end(String)} à sa terminaison (succès ou échec). Ces compteurs
+ * alimentent les stratégies power-of-two-choices et least-outstanding-requests.
+ * Un compteur revenu à zéro est retiré : les URLs d'instances disparues ne
+ * s'accumulent pas.
+ * </p>
+ */
+@Component
+public class InFlightRequestTracker {
+
+    private final ConcurrentMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Signale le début d'une requête vers une instance.
+     *
+     * @param url URL de base de l'instance appelée
+     */
+    public void begin(String url) {
+        inFlight.merge(url, 1, Integer::sum);
+    }
+
+    /**
+     * Signale la fin d'une requête vers une instance.
+     *
+     * @param url URL de base de l'instance appelée
+     */
+    public void end(String url) {
+        inFlight.computeIfPresent(url, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Retourne le nombre de requêtes en cours vers une instance.
+     *
+     * @param url URL de base de l'instance
+     * @return nombre de requêtes en cours (0 si inconnue)
+     */
+    public int inFlight(String url) {
+        return inFlight.getOrDefault(url, 0);
+    }
+}
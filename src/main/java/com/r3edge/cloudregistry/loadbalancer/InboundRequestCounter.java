@@ -0,0 +1,58 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+/**
+ * Filtre servlet comptant les requêtes entrantes en cours de traitement par
+ * cette instance, publiées par {@link LoadSignalPublisher} sous
+ * {@link LoadSignals#IN_FLIGHT}.
+ * <p>
+ * Une requête est comptée pendant l'exécution de la chaîne de filtres : un
+ * traitement asynchrone (flux SSE par exemple) n'est compté que pendant son
+ * dispatch initial, ce qui évite qu'une connexion longue paraisse être une
+ * charge.
+ * </p>
+ */
+@Component
+@ConditionalOnClass(name = "jakarta.servlet.Filter")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "r3edge.registry.load-signals", name = "enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InboundRequestCounter implements Filter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        inFlight.incrementAndGet();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Retourne le nombre de requêtes entrantes en cours de traitement.
+     *
+     * @return requêtes entrantes en cours
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
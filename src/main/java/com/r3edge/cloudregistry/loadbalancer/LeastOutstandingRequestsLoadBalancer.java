@@ -0,0 +1,46 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Least-outstanding-requests : retient l'instance qui a le moins de requêtes
+ * en cours. Le parcours démarre à une position aléatoire pour répartir les
+ * égalités.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeastOutstandingRequestsLoadBalancer implements LoadBalancer {
+
+    /** Nom de la stratégie. */
+    public static final String NAME = "least-outstanding-requests";
+
+    private final InFlightRequestTracker tracker;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String choose(String key, String[] urls) {
+        int n = urls.length;
+        if (n == 0)
+            return null;
+        int start = ThreadLocalRandom.current().nextInt(n);
+        String best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            String candidate = urls[(start + i) % n];
+            int load = tracker.inFlight(candidate);
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,62 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Load-aware : power-of-two-choices sur le score de charge
+ * ({@link LoadSignals#score(int)}) combinant les signaux publiés par chaque
+ * instance et les requêtes en cours depuis cette JVM.
+ * <p>
+ * Les instances qui ne publient pas de signaux ne sont départagées que par
+ * {@link InFlightRequestTracker}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadAwareLoadBalancer implements LoadBalancer {
+
+    /** Nom de la stratégie. */
+    public static final String NAME = "load-aware";
+
+    private final InFlightRequestTracker tracker;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String choose(String key, String[] urls) {
+        return choose(urls, null);
+    }
+
+    @Override
+    public String choose(String key, Candidates candidates) {
+        return choose(candidates.urls(), candidates.instances());
+    }
+
+    private String choose(String[] urls, ServiceDescriptor[] instances) {
+        int n = urls.length;
+        if (n == 0)
+            return null;
+        if (n == 1)
+            return urls[0];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(n);
+        int second = random.nextInt(n - 1);
+        if (second >= first)
+            second++;
+        return score(urls, instances, second) < score(urls, instances, first) ? urls[second] : urls[first];
+    }
+
+    private double score(String[] urls, ServiceDescriptor[] instances, int i) {
+        LoadSignals signals = instances == null ? LoadSignals.UNKNOWN : LoadSignals.from(instances[i]);
+        return signals.score(tracker.inFlight(urls[i]));
+    }
+}
@@ -0,0 +1,43 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+/**
+ * SPI de load balancing côté client.
+ * <p>
+ * Une implémentation choisit une URL parmi les candidates précalculées par la
+ * registry. Toute implémentation déclarée comme bean Spring est sélectionnable
+ * par son {@link #name()} via {@code r3edge.registry.load-balancing.*}.
+ * </p>
+ */
+public interface LoadBalancer {
+
+    /**
+     * Nom de la stratégie, tel que référencé dans la configuration.
+     *
+     * @return nom unique de la stratégie (ex: {@code round-robin})
+     */
+    String name();
+
+    /**
+     * Choisit une URL parmi les candidates.
+     *
+     * @param key  clé de résolution (nom du service ou de la feature)
+     * @param urls URLs candidates, non nulles ; le tableau ne doit pas être modifié
+     * @return l'URL choisie, ou {@code null} si le tableau est vide
+     */
+    String choose(String key, String[] urls);
+
+    /**
+     * Choisit une URL parmi des candidates dont les descripteurs sont connus.
+     * <p>
+     * Par défaut, délègue à {@link #choose(String, String[])} ; les stratégies
+     * qui s'appuient sur les métadonnées des instances la redéfinissent.
+     * </p>
+     *
+     * @param key        clé de résolution (nom du service ou de la feature)
+     * @param candidates instances candidates et leurs URLs
+     * @return l'URL choisie, ou {@code null} s'il n'y a aucune candidate
+     */
+    default String choose(String key, Candidates candidates) {
+        return choose(key, candidates.urls());
+    }
+}
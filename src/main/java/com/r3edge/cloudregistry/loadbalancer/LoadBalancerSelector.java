@@ -0,0 +1,65 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+import com.r3edge.cloudregistry.ServiceRegistryProperties.LoadBalancingProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sélectionne la stratégie de load balancing à appliquer pour une clé de
+ * résolution, d'après {@code r3edge.registry.load-balancing}.
+ */
+@Component
+@Slf4j
+public class LoadBalancerSelector {
+
+    private final Map<String, LoadBalancer> byName = new HashMap<>();
+    private final ServiceRegistryProperties properties;
+    private final LoadBalancer fallback;
+
+    /**
+     * Construit le sélecteur à partir des stratégies déclarées comme beans.
+     *
+     * @param loadBalancers stratégies disponibles
+     * @param properties    propriétés du registre
+     */
+    public LoadBalancerSelector(List<LoadBalancer> loadBalancers, ServiceRegistryProperties properties) {
+        this.properties = properties;
+        loadBalancers.forEach(lb -> byName.put(lb.name(), lb));
+        this.fallback = byName.computeIfAbsent(RandomLoadBalancer.NAME, k -> new RandomLoadBalancer());
+        log.info("✅ Stratégies de load balancing disponibles : {}", byName.keySet());
+        LoadBalancingProperties lb = properties.getLoadBalancing();
+        if (!byName.containsKey(lb.getDefaultStrategy())) {
+            log.warn("⚠️ Stratégie de load balancing par défaut inconnue : '{}'", lb.getDefaultStrategy());
+        }
+        lb.getServices().forEach((service, name) -> {
+            if (!byName.containsKey(name)) {
+                log.warn("⚠️ Stratégie de load balancing inconnue '{}' pour le service '{}'", name, service);
+            }
+        });
+    }
+
+    /**
+     * Retourne la stratégie configurée pour un service, ou la stratégie par
+     * défaut.
+     *
+     * @param key nom du service (ou de la feature)
+     * @return stratégie à appliquer
+     */
+    public LoadBalancer forKey(String key) {
+        LoadBalancingProperties lb = properties.getLoadBalancing();
+        String name = lb.getServices().getOrDefault(key, lb.getDefaultStrategy());
+        LoadBalancer selected = byName.get(name);
+        if (selected == null) {
+            log.debug("ℹ️ Stratégie de load balancing inconnue '{}' pour '{}' – fallback random", name, key);
+            return fallback;
+        }
+        return selected;
+    }
+}
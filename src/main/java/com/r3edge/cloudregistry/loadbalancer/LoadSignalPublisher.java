@@ -0,0 +1,135 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.r3edge.cloudregistry.ServiceRegistry;
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+import com.r3edge.cloudregistry.ServiceRegistryProperties.LoadSignalsProperties;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publie périodiquement les signaux de charge de l'instance locale dans les
+ * métadonnées de son descripteur.
+ * <p>
+ * Toutes les {@code r3edge.registry.load-signals.interval}, les requêtes
+ * entrantes en cours ({@link InboundRequestCounter}), la charge CPU du processus et la
+ * profondeur de file ({@link QueueDepthProbe}, optionnelle) sont
+ * échantillonnées ; elles ne sont republiées que si l'un des signaux varie de
+ * plus de {@code min-change}. La stratégie {@code load-aware} s'en sert pour
+ * écarter le trafic des instances surchargées.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "r3edge.registry.load-signals", name = "enabled", havingValue = "true")
+@Slf4j
+public class LoadSignalPublisher {
+
+    private final ObjectProvider<ServiceRegistry> registry;
+    private final ObjectProvider<InboundRequestCounter> inbound;
+    private final ObjectProvider<QueueDepthProbe> queueDepth;
+    private final LoadSignalsProperties properties;
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private ScheduledExecutorService scheduler;
+    private volatile LoadSignals published;
+
+    /**
+     * Construit le publieur.
+     *
+     * @param registry   registry dans laquelle publier
+     * @param inbound    compteur des requêtes entrantes (absent hors application servlet)
+     * @param queueDepth source optionnelle de la profondeur de file
+     * @param properties propriétés du registre
+     */
+    public LoadSignalPublisher(ObjectProvider<ServiceRegistry> registry, ObjectProvider<InboundRequestCounter> inbound,
+            ObjectProvider<QueueDepthProbe> queueDepth, ServiceRegistryProperties properties) {
+        this.registry = registry;
+        this.inbound = inbound;
+        this.queueDepth = queueDepth;
+        this.properties = properties.getLoadSignals();
+    }
+
+    /**
+     * Démarre l'échantillonnage périodique.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "r3edge-load-signals");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("✅ Publication des signaux de charge toutes les {} (variation minimale {})",
+            properties.getInterval(), properties.getMinChange());
+    }
+
+    /**
+     * Arrête l'échantillonnage.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            publishIfChanged(sample());
+        } catch (RuntimeException e) {
+            log.debug("ℹ️ Publication des signaux de charge ignorée : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Échantillonne les signaux de charge courants.
+     *
+     * @return signaux de l'instance locale
+     */
+    LoadSignals sample() {
+        InboundRequestCounter counter = inbound.getIfAvailable();
+        QueueDepthProbe probe = queueDepth.getIfAvailable();
+        return new LoadSignals(counter == null ? 0 : counter.inFlight(), cpuLoad(),
+            probe == null ? 0 : probe.queueDepth());
+    }
+
+    /**
+     * Publie les signaux s'ils diffèrent significativement des derniers
+     * publiés.
+     *
+     * @param current signaux échantillonnés
+     * @return {@code true} si les signaux ont été publiés
+     */
+    boolean publishIfChanged(LoadSignals current) {
+        if (!current.differsFrom(published, properties.getMinChange()))
+            return false;
+        ServiceRegistry target = registry.getIfAvailable();
+        if (target == null)
+            return false;
+        target.updateSelfMetadata(current.toMetadata());
+        published = current;
+        log.debug("ℹ️ Signaux de charge publiés : {}", current);
+        return true;
+    }
+
+    private double cpuLoad() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hotspot) {
+            double load = hotspot.getProcessCpuLoad();
+            if (load >= 0)
+                return load;
+        }
+        double average = os.getSystemLoadAverage();
+        return average < 0 ? 0.0 : Math.min(1.0, average / os.getAvailableProcessors());
+    }
+}
@@ -0,0 +1,102 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.Map;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+
+/**
+ * Signaux de charge d'une instance, publiés dans les métadonnées de son
+ * descripteur par {@link LoadSignalPublisher}.
+ * <p>
+ * Les valeurs sont stockées sous forme d'entiers courts ({@code load.cpu} en
+ * pourcentage) pour limiter la taille du descripteur répliqué.
+ * </p>
+ *
+ * @param inFlight   requêtes entrantes en cours de traitement par l'instance
+ * @param cpu        charge CPU du processus (0 à 1)
+ * @param queueDepth profondeur de la file de travail applicative
+ */
+public record LoadSignals(int inFlight, double cpu, int queueDepth) {
+
+    /** Clé de métadonnée des requêtes entrantes en cours. */
+    public static final String IN_FLIGHT = "load.in-flight";
+    /** Clé de métadonnée de la charge CPU, en pourcentage. */
+    public static final String CPU = "load.cpu";
+    /** Clé de métadonnée de la profondeur de file. */
+    public static final String QUEUE_DEPTH = "load.queue";
+
+    /** Signaux d'une instance qui n'en publie pas. */
+    public static final LoadSignals UNKNOWN = new LoadSignals(0, 0.0, 0);
+
+    /** Niveaux en dessous desquels une variation n'est pas jugée significative. */
+    private static final double MIN_COUNT_SCALE = 10;
+    private static final double MIN_CPU_SCALE = 0.25;
+
+    /**
+     * Lit les signaux publiés dans un descripteur.
+     *
+     * @param descriptor descripteur d'instance
+     * @return les signaux, ou {@link #UNKNOWN} si l'instance n'en publie pas
+     */
+    public static LoadSignals from(ServiceDescriptor descriptor) {
+        Map<String, String> metadata = descriptor.getMetadata();
+        if (metadata == null || !metadata.containsKey(IN_FLIGHT))
+            return UNKNOWN;
+        return new LoadSignals(parse(metadata.get(IN_FLIGHT)), parse(metadata.get(CPU)) / 100.0,
+            parse(metadata.get(QUEUE_DEPTH)));
+    }
+
+    /**
+     * Retourne les métadonnées à publier.
+     *
+     * @return map clé → valeur compacte
+     */
+    public Map<String, String> toMetadata() {
+        return Map.of(IN_FLIGHT, Integer.toString(inFlight), CPU, Long.toString(Math.round(cpu * 100)),
+            QUEUE_DEPTH, Integer.toString(queueDepth));
+    }
+
+    /**
+     * Indique si ces signaux s'écartent significativement de signaux déjà
+     * publiés.
+     *
+     * @param previous  signaux publiés, ou {@code null}
+     * @param minChange variation relative minimale (0 à 1)
+     * @return {@code true} si une republication est justifiée
+     */
+    public boolean differsFrom(LoadSignals previous, double minChange) {
+        if (previous == null)
+            return true;
+        return significant(inFlight, previous.inFlight, MIN_COUNT_SCALE, minChange)
+            || significant(cpu, previous.cpu, MIN_CPU_SCALE, minChange)
+            || significant(queueDepth, previous.queueDepth, MIN_COUNT_SCALE, minChange);
+    }
+
+    /**
+     * Score de charge : plus il est élevé, moins l'instance est disponible.
+     * <p>
+     * Les requêtes en cours (publiées et locales) et la file sont rapportées à
+     * la capacité CPU restante.
+     * </p>
+     *
+     * @param localInFlight requêtes en cours depuis cette JVM vers l'instance
+     * @return score positif
+     */
+    public double score(int localInFlight) {
+        return (1.0 + localInFlight + inFlight + queueDepth) / Math.max(0.05, 1.0 - cpu);
+    }
+
+    private static boolean significant(double current, double previous, double scale, double minChange) {
+        return Math.abs(current - previous) > minChange * Math.max(scale, Math.max(current, previous));
+    }
+
+    private static int parse(String value) {
+        if (value == null)
+            return 0;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.Map;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+import com.r3edge.cloudregistry.ServiceInstance;
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+import com.r3edge.cloudregistry.ServiceRegistryProperties.LocalityProperties;
+
+/**
+ * Restreint la résolution aux instances les plus proches de l'instance locale.
+ * <p>
+ * Les candidates sont réparties en niveaux emboîtés : l'instance locale
+ * elle-même, puis les instances du même hôte ({@code internalIp} publiée
+ * sous {@link #HOST_METADATA_KEY}), puis celles de la même zone (métadonnée
+ * {@code r3edge.registry.locality.zone-metadata-key}), puis toutes. Le premier
+ * niveau comptant au moins {@code min-instances} candidates est retenu ; un
+ * niveau trop petit déborde donc sur le suivant.
+ * </p>
+ * <p>
+ * Ce filtre s'applique après {@link OutlierDetector} : une instance proche
+ * mais éjectée ne compte pas dans son niveau. Il est ignoré par la résolution
+ * par clé de routage.
+ * </p>
+ */
+@Component
+@Order(200)
+public class LocalityFilter implements CandidateFilter {
+
+    /** Clé de métadonnée portant l'IP interne de l'instance, publiée par la registry. */
+    public static final String HOST_METADATA_KEY = "__internal__ip";
+
+    private static final int SELF = 0;
+    private static final int HOST = 1;
+    private static final int ZONE = 2;
+    private static final int ANY = 3;
+
+    private final ServiceInstance self;
+    private final LocalityProperties properties;
+
+    /**
+     * Construit le filtre.
+     *
+     * @param self       instance locale
+     * @param properties propriétés du registre
+     */
+    public LocalityFilter(ServiceInstance self, ServiceRegistryProperties properties) {
+        this.self = self;
+        this.properties = properties.getLocality();
+    }
+
+    @Override
+    public Candidates filter(String key, Candidates candidates) {
+        if (!properties.isEnabled())
+            return candidates;
+        String selfId = self.getInstanceId();
+        String selfHost = self.getInternalIp();
+        String zoneKey = properties.getZoneMetadataKey();
+        String selfZone = zoneKey == null || self.getMetadata() == null ? null : self.getMetadata().get(zoneKey);
+        if (selfId == null && selfHost == null && selfZone == null)
+            return candidates;
+
+        ServiceDescriptor[] instances = candidates.instances();
+        int n = instances.length;
+        int[] tiers = new int[n];
+        int[] counts = new int[ANY + 1];
+        for (int i = 0; i < n; i++) {
+            tiers[i] = tier(instances[i], selfId, selfHost, zoneKey, selfZone);
+            counts[tiers[i]]++;
+        }
+        int retained = 0;
+        int min = Math.max(1, properties.getMinInstances());
+        for (int tier = SELF; tier < ANY; tier++) {
+            retained += counts[tier];
+            if (retained >= min) {
+                boolean[] keep = new boolean[n];
+                for (int i = 0; i < n; i++) {
+                    keep[i] = tiers[i] <= tier;
+                }
+                return candidates.retain(keep, retained);
+            }
+        }
+        return candidates;
+    }
+
+    @Override
+    public boolean appliesToRoutingKeys() {
+        // L'affinité d'une clé prime sur la proximité
+        return false;
+    }
+
+    private static int tier(ServiceDescriptor d, String selfId, String selfHost, String zoneKey, String selfZone) {
+        if (selfId != null && selfId.equals(d.getInstanceId()))
+            return SELF;
+        Map<String, String> metadata = d.getMetadata();
+        if (metadata == null)
+            return ANY;
+        if (selfHost != null && selfHost.equals(metadata.get(HOST_METADATA_KEY)))
+            return HOST;
+        if (selfZone != null && selfZone.equals(metadata.get(zoneKey)))
+            return ZONE;
+        return ANY;
+    }
+}
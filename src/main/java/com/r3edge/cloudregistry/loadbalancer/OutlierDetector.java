@@ -0,0 +1,250 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+import com.r3edge.cloudregistry.ServiceRegistryProperties.OutlierDetectionProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Détection d'instances aberrantes : éjecte temporairement de la résolution
+ * les instances qui échouent ou répondent lentement.
+ * <p>
+ * Les clients HTTP déclarent le résultat et la latence de chaque appel via
+ * {@link #record(String, Duration, boolean)}, pour l'URL retournée par la
+ * résolution ({@code resolve*Url}). Par URL sont tenus le nombre d'échecs
+ * consécutifs et des moyennes mobiles exponentielles (EWMA) du taux d'échec et
+ * de la latence : l'URL interne et l'URL externe d'une instance sont suivies
+ * séparément. Au-delà des seuils de
+ * {@code r3edge.registry.outlier-detection}, l'instance est éjectée pour une
+ * durée croissante à chaque récidive, puis réadmise automatiquement.
+ * </p>
+ * <p>
+ * Au plus {@code max-ejection-percent} des candidates d'une résolution sont
+ * écartées (les plus défaillantes d'abord) : une panne générale ne vide donc
+ * jamais la liste, et une instance unique n'est jamais éjectée.
+ * </p>
+ */
+@Component
+@Order(100)
+@Slf4j
+public class OutlierDetector implements CandidateFilter {
+
+    private final OutlierDetectionProperties properties;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Health> health = new ConcurrentHashMap<>();
+    /** URLs actuellement éjectées, pour un filtrage sans coût lorsqu'il n'y en a aucune. */
+    private final ConcurrentMap<String, Health> ejected = new ConcurrentHashMap<>();
+
+    /**
+     * Construit le détecteur.
+     *
+     * @param properties propriétés du registre
+     */
+    @Autowired
+    public OutlierDetector(ServiceRegistryProperties properties) {
+        this(properties.getOutlierDetection(), System::nanoTime);
+    }
+
+    OutlierDetector(OutlierDetectionProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Déclare le résultat d'un appel vers une instance.
+     *
+     * @param url     URL de l'instance appelée, telle que retournée par la résolution
+     * @param latency durée de l'appel
+     * @param success {@code false} si l'appel a échoué (erreur réseau, 5xx, timeout)
+     */
+    public void record(String url, Duration latency, boolean success) {
+        if (url == null)
+            return;
+        Health h = health.computeIfAbsent(url, Health::new);
+        long now = nanoClock.getAsLong();
+        if (h.record(latency.toNanos(), success, now, properties)) {
+            ejected.put(url, h);
+            log.warn("⚠️ Instance '{}' éjectée de la résolution pendant {} ms (échecs consécutifs={}, taux d'échec={}, latence={} ms)",
+                url, Duration.ofNanos(h.ejectedUntil - now).toMillis(), h.lastConsecutiveFailures,
+                String.format("%.2f", h.failureRate), Duration.ofNanos((long) h.latencyNanos).toMillis());
+        }
+    }
+
+    /**
+     * Déclare un appel réussi.
+     *
+     * @param url     URL de l'instance appelée
+     * @param latency durée de l'appel
+     */
+    public void recordSuccess(String url, Duration latency) {
+        record(url, latency, true);
+    }
+
+    /**
+     * Déclare un appel en échec.
+     *
+     * @param url     URL de l'instance appelée
+     * @param latency durée de l'appel
+     */
+    public void recordFailure(String url, Duration latency) {
+        record(url, latency, false);
+    }
+
+    /**
+     * Indique si une instance est actuellement éjectée.
+     *
+     * @param url URL de l'instance
+     * @return {@code true} tant que la durée d'éjection n'est pas écoulée
+     */
+    public boolean isEjected(String url) {
+        Health h = ejected.get(url);
+        return h != null && h.isEjected(nanoClock.getAsLong());
+    }
+
+    @Override
+    public Candidates filter(String key, Candidates candidates) {
+        if (!properties.isEnabled() || ejected.isEmpty())
+            return candidates;
+        long now = nanoClock.getAsLong();
+        String[] urls = candidates.urls();
+        int n = urls.length;
+        int allowed = n * properties.getMaxEjectionPercent() / 100;
+        if (allowed == 0)
+            return candidates;
+
+        Health[] outliers = null;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Health h = ejected.get(urls[i]);
+            if (h == null)
+                continue;
+            if (!h.isEjected(now)) {
+                readmit(h.url, now);
+                continue;
+            }
+            if (outliers == null)
+                outliers = new Health[n];
+            outliers[count++] = h;
+        }
+        if (count == 0)
+            return candidates;
+        if (count > allowed) {
+            // Plafond atteint : seules les instances les plus défaillantes restent écartées
+            Arrays.sort(outliers, 0, count, Comparator.comparingDouble((Health h) -> h.failureRate)
+                .thenComparingDouble(h -> h.latencyNanos).reversed());
+            count = allowed;
+        }
+        boolean[] keep = new boolean[n];
+        Arrays.fill(keep, true);
+        for (int i = 0; i < n; i++) {
+            for (int o = 0; o < count; o++) {
+                if (outliers[o].url.equals(urls[i])) {
+                    keep[i] = false;
+                    break;
+                }
+            }
+        }
+        return candidates.retain(keep, n - count);
+    }
+
+    private void readmit(String url, long now) {
+        // Sous le verrou de la map : une nouvelle éjection concurrente n'est pas perdue
+        ejected.computeIfPresent(url, (u, h) -> {
+            if (h.isEjected(now))
+                return h;
+            log.info("ℹ️ Instance '{}' réadmise dans la résolution", u);
+            return null;
+        });
+    }
+
+    @Override
+    public void instanceRemoved(ServiceDescriptor descriptor) {
+        forget(descriptor.getInternalBaseUrl());
+        forget(descriptor.getExternalBaseUrl());
+    }
+
+    private void forget(String url) {
+        if (url == null)
+            return;
+        health.remove(url);
+        ejected.remove(url);
+    }
+
+    /**
+     * État de santé d'une URL d'instance, mis à jour sous verrou à chaque
+     * appel déclaré.
+     */
+    private static final class Health {
+        private final String url;
+        private long samples;
+        private int consecutiveFailures;
+        private int lastConsecutiveFailures;
+        private double failureRate;
+        private double latencyNanos;
+        private int ejections;
+        private volatile long ejectedUntil;
+        private volatile boolean inEjection;
+
+        Health(String url) {
+            this.url = url;
+        }
+
+        boolean isEjected(long now) {
+            return inEjection && now - ejectedUntil < 0;
+        }
+
+        /**
+         * Intègre un appel et retourne {@code true} si l'instance vient d'être
+         * éjectée.
+         */
+        synchronized boolean record(long nanos, boolean success, long now, OutlierDetectionProperties p) {
+            if (inEjection && now - ejectedUntil >= 0) {
+                inEjection = false;
+            }
+            double alpha = p.getEwmaAlpha();
+            double failure = success ? 0.0 : 1.0;
+            if (samples == 0) {
+                failureRate = failure;
+                latencyNanos = nanos;
+            } else {
+                failureRate += alpha * (failure - failureRate);
+                latencyNanos += alpha * (nanos - latencyNanos);
+            }
+            samples++;
+            consecutiveFailures = success ? 0 : consecutiveFailures + 1;
+            if (!p.isEnabled() || inEjection)
+                return false;
+
+            boolean evaluated = samples >= p.getMinimumRequests();
+            boolean outlier = consecutiveFailures >= p.getConsecutiveFailures()
+                    || evaluated && failureRate >= p.getFailureRateThreshold()
+                    || evaluated && p.getSlowLatency() != null && latencyNanos >= p.getSlowLatency().toNanos();
+            if (!outlier) {
+                if (evaluated)
+                    ejections = 0;
+                return false;
+            }
+            ejections++;
+            long duration = Math.min(p.getBaseEjectionTime().toNanos() * ejections, p.getMaxEjectionTime().toNanos());
+            ejectedUntil = now + duration;
+            inEjection = true;
+            // Repart d'un historique vierge à la réadmission
+            lastConsecutiveFailures = consecutiveFailures;
+            samples = 0;
+            consecutiveFailures = 0;
+            return true;
+        }
+    }
+}
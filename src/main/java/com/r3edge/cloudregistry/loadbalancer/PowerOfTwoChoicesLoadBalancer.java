@@ -0,0 +1,42 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Power-of-two-choices : tire deux instances distinctes au hasard et retient
+ * celle qui a le moins de requêtes en cours, d'après
+ * {@link InFlightRequestTracker}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PowerOfTwoChoicesLoadBalancer implements LoadBalancer {
+
+    /** Nom de la stratégie. */
+    public static final String NAME = "power-of-two-choices";
+
+    private final InFlightRequestTracker tracker;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String choose(String key, String[] urls) {
+        int n = urls.length;
+        if (n == 0)
+            return null;
+        if (n == 1)
+            return urls[0];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(n);
+        int second = random.nextInt(n - 1);
+        if (second >= first)
+            second++;
+        return tracker.inFlight(urls[second]) < tracker.inFlight(urls[first]) ? urls[second] : urls[first];
+    }
+}
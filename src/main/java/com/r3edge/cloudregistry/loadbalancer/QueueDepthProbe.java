@@ -0,0 +1,19 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+/**
+ * Source applicative de la profondeur de file publiée par
+ * {@link LoadSignalPublisher} (tâches en attente, messages non traités, ...).
+ * <p>
+ * Optionnelle : sans bean de ce type, la profondeur publiée est nulle.
+ * </p>
+ */
+@FunctionalInterface
+public interface QueueDepthProbe {
+
+    /**
+     * Retourne la profondeur courante de la file de travail.
+     *
+     * @return nombre d'éléments en attente
+     */
+    int queueDepth();
+}
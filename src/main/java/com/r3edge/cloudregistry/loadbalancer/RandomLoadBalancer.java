@@ -0,0 +1,27 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Sélection aléatoire uniforme (stratégie par défaut).
+ */
+@Component
+public class RandomLoadBalancer implements LoadBalancer {
+
+    /** Nom de la stratégie. */
+    public static final String NAME = "random";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String choose(String key, String[] urls) {
+        if (urls.length == 0)
+            return null;
+        return urls[ThreadLocalRandom.current().nextInt(urls.length)];
+    }
+}
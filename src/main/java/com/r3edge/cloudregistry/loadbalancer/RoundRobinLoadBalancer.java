@@ -0,0 +1,32 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Sélection circulaire, avec un compteur indépendant par clé de résolution.
+ */
+@Component
+public class RoundRobinLoadBalancer implements LoadBalancer {
+
+    /** Nom de la stratégie. */
+    public static final String NAME = "round-robin";
+
+    private final ConcurrentMap<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String choose(String key, String[] urls) {
+        if (urls.length == 0)
+            return null;
+        int next = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return urls[Math.floorMod(next, urls.length)];
+    }
+}
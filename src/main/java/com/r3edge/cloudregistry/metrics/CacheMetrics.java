@@ -0,0 +1,45 @@
+package com.r3edge.cloudregistry.metrics;
+
+/**
+ * Points de mesure du cache distribué (succès, échecs, chargements, codec).
+ * <p>
+ * L'implémentation par défaut, {@link #NOOP}, ne fait rien : l'instrumentation
+ * Micrometer n'est active que si la librairie Micrometer et un bean
+ * {@code MeterRegistry} sont présents.
+ * </p>
+ */
+public interface CacheMetrics {
+
+    /** Implémentation sans effet, utilisée en l'absence de Micrometer */
+    CacheMetrics NOOP = new CacheMetrics() {
+    };
+
+    /**
+     * Enregistre une lecture.
+     *
+     * @param cacheName nom du cache
+     * @param hit       {@code true} si la valeur était présente
+     */
+    default void get(String cacheName, boolean hit) {
+    }
+
+    /**
+     * Enregistre un chargement depuis la source.
+     *
+     * @param cacheName nom du cache
+     * @param nanos     durée du chargement
+     */
+    default void load(String cacheName, long nanos) {
+    }
+
+    /**
+     * Enregistre la compression d'une valeur.
+     *
+     * @param cacheName   nom du cache
+     * @param rawBytes    taille avant compression
+     * @param storedBytes taille stockée
+     * @param nanos       durée de l'encodage
+     */
+    default void compression(String cacheName, int rawBytes, int storedBytes, long nanos) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.r3edge.cloudregistry.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Instrumentation Micrometer de la registry et du cache.
+ * <p>
+ * Le bean n'est créé que si Micrometer est présent dans le classpath ; les
+ * mesures ne sont enregistrées qu'une fois un {@link MeterRegistry} trouvé dans
+ * le contexte. Les compteurs et timers sont mis en cache par nom et tags pour
+ * éviter une recherche dans le registre à chaque appel.
+ * </p>
+ * <p>
+ * Mesures exposées :
+ * </p>
+ * <ul>
+ * <li>{@code r3edge.registry.resolution} (timer), {@code r3edge.registry.resolution.candidates}
+ * et {@code r3edge.registry.resolution.empty}, par {@code kind} et {@code name} (les noms
+ * sans route sont regroupés sous {@code unknown}) ;</li>
+ * <li>{@code r3edge.registry.instances} (gauge) et {@code r3edge.registry.membership} par {@code event} ;</li>
+ * <li>{@code r3edge.cache.gets} par {@code cache} et {@code result}, {@code r3edge.cache.loads} (timer) ;</li>
+ * <li>{@code r3edge.cache.codec.raw}, {@code r3edge.cache.codec.stored} (octets) et
+ * {@code r3edge.cache.codec.encode} (timer), par {@code cache}.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@Slf4j
+public class MicrometerMetrics implements RegistryMetrics, CacheMetrics, SmartInitializingSingleton {
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<String, Object> meters = new ConcurrentHashMap<>();
+    /** Mesures de résolution par kind puis par nom : aucune clé à concaténer sur le chemin chaud */
+    private final Map<String, Map<String, ResolutionMeters>> resolutions = new ConcurrentHashMap<>();
+    private final List<Supplier<Number>> pendingSizes = new ArrayList<>();
+    private volatile MeterRegistry registry;
+
+    public MicrometerMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry found = meterRegistryProvider.getIfAvailable();
+        if (found == null) {
+            log.debug("ℹ️ Aucun MeterRegistry : métriques r3edge désactivées");
+            return;
+        }
+        synchronized (pendingSizes) {
+            registry = found;
+            pendingSizes.forEach(this::registerSize);
+            pendingSizes.clear();
+        }
+        log.info("✅ Métriques r3edge publiées dans {}", found.getClass().getSimpleName());
+    }
+
+    @Override
+    public void resolution(String kind, String name, long nanos, int candidates) {
+        if (registry == null)
+            return;
+        ResolutionMeters m = resolutions.computeIfAbsent(kind, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, n -> new ResolutionMeters(registry, kind, n));
+        m.timer.record(nanos, TimeUnit.NANOSECONDS);
+        m.candidates.record(candidates);
+        if (candidates == 0) {
+            m.empty().increment();
+        }
+    }
+
+    @Override
+    public void membership(String event) {
+        if (registry == null)
+            return;
+        counter("membership" + event, r -> Counter.builder("r3edge.registry.membership")
+                .tag("event", event).register(r)).increment();
+    }
+
+    @Override
+    public void bindRegistrySize(Supplier<Number> size) {
+        synchronized (pendingSizes) {
+            if (registry == null) {
+                pendingSizes.add(size);
+            } else {
+                registerSize(size);
+            }
+        }
+    }
+
+    @Override
+    public void get(String cacheName, boolean hit) {
+        if (registry == null)
+            return;
+        String result = hit ? "hit" : "miss";
+        counter("gets" + cacheName + '\u0000' + result, r -> Counter.builder("r3edge.cache.gets")
+                .tags("cache", cacheName, "result", result).register(r)).increment();
+    }
+
+    @Override
+    public void load(String cacheName, long nanos) {
+        if (registry == null)
+            return;
+        timer("loads" + cacheName, r -> Timer.builder("r3edge.cache.loads")
+                .tag("cache", cacheName).register(r)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void compression(String cacheName, int rawBytes, int storedBytes, long nanos) {
+        if (registry == null)
+            return;
+        summary("raw" + cacheName, r -> DistributionSummary.builder("r3edge.cache.codec.raw")
+                .baseUnit("bytes").tag("cache", cacheName).register(r)).record(rawBytes);
+        summary("stored" + cacheName, r -> DistributionSummary.builder("r3edge.cache.codec.stored")
+                .baseUnit("bytes").tag("cache", cacheName).register(r)).record(storedBytes);
+        timer("encode" + cacheName, r -> Timer.builder("r3edge.cache.codec.encode")
+                .tag("cache", cacheName).register(r)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void registerSize(Supplier<Number> size) {
+        // Référence forte : la lecture fournie n'est souvent référencée que par la gauge
+        Gauge.builder("r3edge.registry.instances", size, s -> s.get().doubleValue()).strongReference(true)
+                .register(registry);
+    }
+
+    /**
+     * Mesures d'une résolution pour un couple (kind, name). Le compteur des
+     * résolutions vides n'est enregistré qu'à la première d'entre elles.
+     */
+    private static final class ResolutionMeters {
+        private final MeterRegistry registry;
+        private final String kind;
+        private final String name;
+        private final Timer timer;
+        private final DistributionSummary candidates;
+        private volatile Counter empty;
+
+        ResolutionMeters(MeterRegistry registry, String kind, String name) {
+            this.registry = registry;
+            this.kind = kind;
+            this.name = name;
+            this.timer = Timer.builder("r3edge.registry.resolution").tags("kind", kind, "name", name)
+                    .register(registry);
+            this.candidates = DistributionSummary.builder("r3edge.registry.resolution.candidates")
+                    .tags("kind", kind, "name", name).register(registry);
+        }
+
+        Counter empty() {
+            Counter c = empty;
+            if (c == null) {
+                // register est idempotent : une course ne crée qu'un seul compteur
+                c = Counter.builder("r3edge.registry.resolution.empty").tags("kind", kind, "name", name)
+                        .register(registry);
+                empty = c;
+            }
+            return c;
+        }
+    }
+
+    private Timer timer(String key, Function<MeterRegistry, Timer> factory) {
+        return (Timer) meters.computeIfAbsent(key, k -> factory.apply(registry));
+    }
+
+    private Counter counter(String key, Function<MeterRegistry, Counter> factory) {
+        return (Counter) meters.computeIfAbsent(key, k -> factory.apply(registry));
+    }
+
+    private DistributionSummary summary(String key, Function<MeterRegistry, DistributionSummary> factory) {
+        return (DistributionSummary) meters.computeIfAbsent(key, k -> factory.apply(registry));
+    }
+}
@@ -0,0 +1,50 @@
+package com.r3edge.cloudregistry.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Points de mesure de la registry (résolution, taille, appartenance au
+ * cluster).
+ * <p>
+ * L'implémentation par défaut, {@link #NOOP}, ne fait rien : l'instrumentation
+ * Micrometer n'est active que si la librairie Micrometer et un bean
+ * {@code MeterRegistry} sont présents.
+ * </p>
+ */
+public interface RegistryMetrics {
+
+    /** Implémentation sans effet, utilisée en l'absence de Micrometer */
+    RegistryMetrics NOOP = new RegistryMetrics() {
+    };
+
+    /** Nom mesuré pour une résolution d'un service ou d'une feature sans route connue */
+    String UNKNOWN_NAME = "unknown";
+
+    /**
+     * Enregistre une résolution d'URL.
+     *
+     * @param kind       {@code service} ou {@code feature}
+     * @param name       nom du service ou de la feature, ou {@link #UNKNOWN_NAME}
+     *                   si aucune route ne le connaît
+     * @param nanos      durée de la résolution
+     * @param candidates nombre d'URLs candidates (0 : résolution vide)
+     */
+    default void resolution(String kind, String name, long nanos, int candidates) {
+    }
+
+    /**
+     * Enregistre un changement d'appartenance au cluster Hazelcast.
+     *
+     * @param event {@code added} ou {@code removed}
+     */
+    default void membership(String event) {
+    }
+
+    /**
+     * Expose le nombre d'instances connues de la registry.
+     *
+     * @param size lecture de la taille courante
+     */
+    default void bindRegistrySize(Supplier<Number> size) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Test d'intégration du démarrage asynchrone face à un cluster injoignable :
+ * le contexte Spring (dont le {@link CacheManager} distribué) termine son
+ * rafraîchissement avant que Hazelcast n'ait rejoint le cluster.
+ */
+@SpringBootTest(
+    classes = TestApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@ActiveProfiles("test-hazelcast-unreachable")
+@DirtiesContext
+class HazelcastAsyncStartupBeforeJoinIntegrationTest {
+
+    @Autowired
+    private HazelcastServiceRegistry registry;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void context_should_refresh_before_the_cluster_is_joined() {
+        assertThat(cacheManager).isNotNull();
+        assertThat(registry.whenStarted()).isNotDone();
+        assertThat(registry.getHazelcast()).isNull();
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+    }
+}
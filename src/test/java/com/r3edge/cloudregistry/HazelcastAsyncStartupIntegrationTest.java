@@ -0,0 +1,54 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+/**
+ * Test d'intégration du démarrage asynchrone de Hazelcast : le cluster est
+ * rejoint en tâche de fond, puis l'instance locale est publiée et
+ * l'application déclarée prête.
+ */
+@SpringBootTest(
+    classes = TestApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "r3edge.registry.startup.async=true"
+)
+@ActiveProfiles("test-tcpip-hazelcast")
+@DirtiesContext
+class HazelcastAsyncStartupIntegrationTest {
+
+    static {
+        Hazelcast.shutdownAll();
+    }
+
+    @Autowired
+    private HazelcastServiceRegistry registry;
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void self_should_be_published_and_application_ready_once_joined() throws Exception {
+        HazelcastInstance hazelcast = registry.whenStarted().get(30, TimeUnit.SECONDS);
+        assertThat(hazelcast.getLifecycleService().isRunning()).isTrue();
+
+        ServiceDescriptor self = registry.getSelfDescriptor();
+        for (int i = 0; i < 50 && registry.resolveInternalServiceUrl("registry-api") == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(registry.resolveInternalServiceUrl("registry-api")).isEqualTo(self.getInternalBaseUrl());
+        assertThat(registry.getRegisteredServices()).containsKey("registry-api");
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}
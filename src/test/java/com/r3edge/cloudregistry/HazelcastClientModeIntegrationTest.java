@@ -0,0 +1,123 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.r3edge.cloudregistry.cache.CacheGateway;
+import com.r3edge.cloudregistry.cache.CacheMerger;
+import com.r3edge.cloudregistry.cache.CacheProperties;
+import com.r3edge.cloudregistry.cache.SpringCacheGateway;
+import com.r3edge.cloudregistry.metrics.CacheMetrics;
+
+/**
+ * Test d'intégration du mode client : le cluster est formé d'un membre
+ * Hazelcast nu, sans la factory de sérialisation de la librairie. Les
+ * modifications de la registry doivent donc être faites depuis le client.
+ */
+@SpringBootTest(classes = TestApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test-hazelcast-client")
+@DirtiesContext
+class HazelcastClientModeIntegrationTest {
+
+    private static final HazelcastInstance member;
+
+    static {
+        Hazelcast.shutdownAll();
+        Config config = new Config();
+        config.setClusterName("r3edge-client-cluster");
+        config.getNetworkConfig().setPort(5801).setPortAutoIncrement(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        member = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @Autowired
+    private HazelcastServiceRegistry registry;
+
+    @AfterAll
+    static void stopMember() {
+        member.shutdown();
+    }
+
+    @Test
+    void registry_updates_should_not_require_the_library_on_members() {
+        assertThat(registry.isClientMode()).isTrue();
+        String self = registry.getSelfDescriptor().getInstanceId();
+        assertThat(registry.getRegisteredFeatures()).containsKey("featureA");
+
+        registry.unregisterFeature(self, "featureA");
+        registry.updateSelfMetadata(Map.of("load.in-flight", "3"));
+        ServiceDescriptor stored = registry.getHazelcast().<String, ServiceDescriptor>getMap("r3edge-service-registry")
+            .get(self);
+        assertThat(stored.getFeatures()).doesNotContain("featureA");
+        assertThat(stored.getMetadata()).containsEntry("load.in-flight", "3");
+
+        registry.unregister("registry-api");
+        assertThat(registry.getRegisteredServices()).doesNotContainKey("registry-api");
+    }
+
+    @Test
+    void put_smart_should_merge_from_the_client_without_losing_deltas() throws Exception {
+        CacheGateway gateway = new SpringCacheGateway(new HazelcastCacheManager(registry.getHazelcast()),
+            new CacheProperties(), CacheMetrics.NOOP, registry::isClientMode);
+        CacheMerger<Long> sum = (existing, delta) -> existing.orElse(0L) + delta;
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        gateway.putSmart("client-counters", "hits", 1L, sum, CacheGateway.WriteOpts.none());
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(gateway.get("client-counters", "hits", Long.class)).contains(100L);
+    }
+
+    @Test
+    void find_instances_should_be_evaluated_on_the_client() throws Exception {
+        IMap<String, ServiceDescriptor> map = registry.getHazelcast().getMap("r3edge-service-registry");
+        map.put("search-1", ServiceDescriptor.builder().serviceName("search-api").instanceId("search-1")
+            .internalBaseUrl("http://search-1").features(List.of("indexing")).metadata(Map.of()).build());
+        map.put("search-2", ServiceDescriptor.builder().serviceName("search-api").instanceId("search-2")
+            .internalBaseUrl("http://search-2").features(List.of()).metadata(Map.of()).build());
+        ServiceQuery byService = ServiceQuery.builder().serviceName("search-api").build();
+        for (int i = 0; i < 50 && registry.findInstances(byService).size() < 2; i++) {
+            Thread.sleep(100);
+        }
+
+        assertThat(registry.findInstances(byService))
+            .extracting(ServiceDescriptor::getInstanceId).containsExactlyInAnyOrder("search-1", "search-2");
+        assertThat(registry.findInstances(ServiceQuery.builder().serviceName("search-api").feature("indexing").build()))
+            .extracting(ServiceDescriptor::getInstanceId).containsExactly("search-1");
+        assertThatThrownBy(() -> registry.findInstances(ServiceQuery.builder().serviceName("search-api")
+            .metadata(Map.of("zone", "eu-west-1a")).build()))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -85,4 +85,34 @@ public class HazelcastRegistryIntegrationTest {
         assertThat(descriptor.getExternalBaseUrl()).isEqualTo("https://mon-app.io");
         assertThat(descriptor.getMetadata()).containsEntry("announced-ip", "1.2.3.4");
     }
+
+    @Test
+    void findInstances_should_match_on_indexed_attributes() {
+        assertThat(registry.findInstances(ServiceQuery.builder().serviceName("registry-api").build()))
+            .extracting(ServiceDescriptor::getServiceName)
+            .containsExactly("registry-api");
+        assertThat(registry.findInstances(ServiceQuery.builder().feature("greeting").build())).hasSize(1);
+        assertThat(registry.findInstances(ServiceQuery.builder().feature("featureA").build())).isEmpty();
+        assertThat(registry.findInstances(ServiceQuery.builder()
+            .serviceName("registry-api")
+            .metadata(Map.of("announced-ip", "1.2.3.4"))
+            .build())).hasSize(1);
+        assertThat(registry.findInstances(ServiceQuery.builder()
+            .metadata(Map.of("announced-ip", "9.9.9.9"))
+            .build())).isEmpty();
+    }
+
+    @Test
+    void resolve_endpoint_should_resolve_several_services_at_once() {
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> resolved = restTemplate.getForObject(
+            "http://localhost:" + port + "/registry/resolve?service=registry-api&service=unknown", Map.class);
+
+        String url = registry.resolveInternalServiceUrl("registry-api");
+        assertThat(resolved).containsOnlyKeys("registry-api", "unknown");
+        assertThat(resolved.get("registry-api")).containsEntry("url", url)
+            .containsEntry("candidates", List.of(url));
+        assertThat(resolved.get("unknown")).containsEntry("url", null).containsEntry("candidates", List.of());
+        assertThat(registry.resolveInternalServiceUrl("registry-api", "tenant-42")).isEqualTo(url);
+    }
 }
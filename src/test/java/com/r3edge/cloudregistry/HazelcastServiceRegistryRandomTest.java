@@ -2,64 +2,53 @@ package com.r3edge.cloudregistry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.HashSet;
+import java.util.Set;
 
-import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
-class HazelcastServiceRegistryRandomTest {
+import com.r3edge.cloudregistry.loadbalancer.RandomLoadBalancer;
 
-    // Classe factice pour accéder à pickRandomUrl
-    static class TestableRegistry extends HazelcastServiceRegistry {
-        TestableRegistry() {
-            super(null, null, null);
-        }
+/**
+ * Sélection aléatoire d'une URL telle que faite par la registry : URLs
+ * précalculées par la table de routage, puis tirage par la stratégie
+ * {@code random}.
+ */
+class HazelcastServiceRegistryRandomTest {
 
-        public String testPickRandomUrl(Stream<ServiceDescriptor> stream, Function<ServiceDescriptor, String> extractor) {
-            return super.pickRandomUrl(stream, extractor);
-        }
+    private static ServiceDescriptor descriptor(String instanceId, String externalBaseUrl) {
+        return ServiceDescriptor.builder().serviceName("api").instanceId(instanceId)
+            .externalBaseUrl(externalBaseUrl).build();
     }
 
-    @RepeatedTest(10) // Répéter pour vérifier l'aléatoire
-    void pickRandomUrl_should_return_random_value_among_available_urls() {
-        TestableRegistry registry = new TestableRegistry();
-
-        List<ServiceDescriptor> descriptors = List.of(
-            ServiceDescriptor.builder().externalBaseUrl("http://one").build(),
-            ServiceDescriptor.builder().externalBaseUrl("http://two").build(),
-            ServiceDescriptor.builder().externalBaseUrl("http://three").build()
-        );
-
-        String result = registry.testPickRandomUrl(
-            descriptors.stream(),
-            ServiceDescriptor::getExternalBaseUrl
-        );
-
-        assertThat(result).isIn("http://one", "http://two", "http://three");
-    }
-    
     @Test
-    void pickRandomUrl_ignoreNullValuesAndStillReturnValidUrl() {
-        // given
-        List<ServiceDescriptor> descriptors = List.of(
-            ServiceDescriptor.builder().externalBaseUrl(null).build(), // nul
-            ServiceDescriptor.builder().externalBaseUrl("http://valid-1").build(), // ok
-            ServiceDescriptor.builder().externalBaseUrl(null).build(), // nul
-            ServiceDescriptor.builder().externalBaseUrl("http://valid-2").build() // ok
-        );
-
-        TestableRegistry registry = new TestableRegistry();
-
-        String result = registry.testPickRandomUrl(
-                descriptors.stream(),
-                ServiceDescriptor::getExternalBaseUrl
-            );
+    void random_pick_should_spread_over_all_available_urls() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        table.upsert(descriptor("api@1", "http://one"));
+        table.upsert(descriptor("api@2", "http://two"));
+        table.upsert(descriptor("api@3", "http://three"));
+        RandomLoadBalancer random = new RandomLoadBalancer();
+
+        Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            picked.add(random.choose("api", table.getServiceRoute("api").externalUrls()));
+        }
 
-        // then
-        assertThat(result).isIn("http://valid-1", "http://valid-2");
+        assertThat(picked).containsExactlyInAnyOrder("http://one", "http://two", "http://three");
     }
 
+    @Test
+    void random_pick_should_ignore_instances_without_url() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        table.upsert(descriptor("api@1", null));
+        table.upsert(descriptor("api@2", "http://valid-1"));
+        table.upsert(descriptor("api@3", null));
+        table.upsert(descriptor("api@4", "http://valid-2"));
+        RandomLoadBalancer random = new RandomLoadBalancer();
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(random.choose("api", table.getServiceRoute("api").externalUrls()))
+                .isIn("http://valid-1", "http://valid-2");
+        }
+    }
 }
-
@@ -0,0 +1,120 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.r3edge.cloudregistry.RegistryChangeEvent.Type;
+
+class RegistryChangeJournalTest {
+
+    private final List<ServiceDescriptor> state = new ArrayList<>();
+
+    private static ServiceDescriptor descriptor(String instanceId) {
+        return ServiceDescriptor.builder().serviceName("api").instanceId(instanceId).build();
+    }
+
+    @Test
+    void new_subscriber_should_receive_a_full_resync_then_deltas() {
+        RegistryChangeJournal journal = new RegistryChangeJournal(16, 16, Runnable::run, () -> state);
+        state.add(descriptor("api@1"));
+        List<RegistryChangeEvent> received = new ArrayList<>();
+
+        journal.subscribe(null, received::add);
+        journal.append(Type.ADDED, "api@2", descriptor("api@2"));
+
+        assertThat(received).extracting(RegistryChangeEvent::getType)
+            .containsExactly(Type.RESET, Type.SNAPSHOT, Type.ADDED);
+        assertThat(received.get(2).getInstanceId()).isEqualTo("api@2");
+    }
+
+    @Test
+    void resume_token_should_replay_only_missed_deltas() {
+        RegistryChangeJournal journal = new RegistryChangeJournal(16, 16, Runnable::run, () -> state);
+        List<RegistryChangeEvent> first = new ArrayList<>();
+        RegistryWatch watch = journal.subscribe(null, first::add);
+        journal.append(Type.ADDED, "api@1", descriptor("api@1"));
+        watch.cancel();
+        String token = first.get(first.size() - 1).getToken();
+
+        journal.append(Type.UPDATED, "api@1", descriptor("api@1"));
+        journal.append(Type.REMOVED, "api@1", null);
+
+        List<RegistryChangeEvent> resumed = new ArrayList<>();
+        journal.subscribe(token, resumed::add);
+
+        assertThat(resumed).extracting(RegistryChangeEvent::getType).containsExactly(Type.UPDATED, Type.REMOVED);
+        assertThat(journal.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expired_or_foreign_token_should_trigger_a_full_resync() {
+        RegistryChangeJournal journal = new RegistryChangeJournal(2, 16, Runnable::run, () -> state);
+        List<RegistryChangeEvent> first = new ArrayList<>();
+        journal.subscribe(null, first::add).cancel();
+        String oldToken = first.get(0).getToken();
+        for (int i = 0; i < 5; i++) {
+            journal.append(Type.ADDED, "api@" + i, descriptor("api@" + i));
+        }
+
+        List<RegistryChangeEvent> expired = new ArrayList<>();
+        journal.subscribe(oldToken, expired::add);
+        List<RegistryChangeEvent> foreign = new ArrayList<>();
+        journal.subscribe("other-3", foreign::add);
+
+        assertThat(expired.get(0).getType()).isEqualTo(Type.RESET);
+        assertThat(foreign.get(0).getType()).isEqualTo(Type.RESET);
+    }
+
+    @Test
+    void failing_subscriber_should_be_dropped() {
+        RegistryChangeJournal journal = new RegistryChangeJournal(16, 16, Runnable::run, () -> state);
+        List<RegistryChangeEvent> healthy = new ArrayList<>();
+        journal.subscribe(null, healthy::add);
+        journal.subscribe(null, event -> {
+            if (event.getType() == Type.ADDED) throw new IllegalStateException("client parti");
+        });
+
+        journal.append(Type.ADDED, "api@1", descriptor("api@1"));
+
+        assertThat(journal.subscriberCount()).isEqualTo(1);
+        assertThat(healthy).extracting(RegistryChangeEvent::getType).containsExactly(Type.RESET, Type.ADDED);
+    }
+
+    @Test
+    void slow_subscriber_should_not_block_appends_and_be_dropped_with_a_final_reset() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        RegistryChangeJournal journal = new RegistryChangeJournal(16, 4, executor, () -> state);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(1);
+        List<RegistryChangeEvent> slow = new CopyOnWriteArrayList<>();
+        journal.subscribe(null, event -> {
+            slow.add(event);
+            try {
+                stalled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, dropped::countDown);
+
+        for (int i = 0; i < 10; i++) {
+            journal.append(Type.ADDED, "api@" + i, descriptor("api@" + i));
+        }
+        assertThat(journal.subscriberCount()).isZero();
+
+        stalled.countDown();
+        assertThat(dropped.await(5, TimeUnit.SECONDS)).isTrue();
+        RegistryChangeEvent last = slow.get(slow.size() - 1);
+        assertThat(last.getType()).isEqualTo(Type.RESET);
+        assertThat(last.getToken()).isNull();
+        executor.shutdownNow();
+    }
+}
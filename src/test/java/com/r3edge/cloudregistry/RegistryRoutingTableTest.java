@@ -0,0 +1,105 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RegistryRoutingTableTest {
+
+    private static ServiceDescriptor descriptor(String service, String instanceId, String internal, String external) {
+        return ServiceDescriptor.builder()
+            .serviceName(service)
+            .instanceId(instanceId)
+            .internalBaseUrl(internal)
+            .externalBaseUrl(external)
+            .build();
+    }
+
+    @Test
+    void upsert_should_precompute_non_null_urls_per_service() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        table.upsert(descriptor("api", "api@1", "http://a1", "https://ext"));
+        table.upsert(descriptor("api", "api@2", "http://a2", null));
+        table.upsert(descriptor("other", "other@1", "http://o1", null));
+
+        assertThat(table.getServiceRoute("api").internalUrls()).containsExactlyInAnyOrder("http://a1", "http://a2");
+        assertThat(table.getServiceRoute("api").externalUrls()).containsExactly("https://ext");
+        assertThat(table.getServiceRoute("other").internalUrls()).containsExactly("http://o1");
+        assertThat(table.getServiceRoute("unknown")).isNull();
+    }
+
+    @Test
+    void upsert_should_reuse_the_routes_of_untouched_services_and_features() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        ServiceDescriptor a1 = descriptor("api", "api@1", "http://a1", null);
+        a1.setFeatures(List.of("greeting"));
+        table.upsert(a1);
+        table.upsert(descriptor("other", "other@1", "http://o1", null));
+        RegistryRoutingTable.Route api = table.getServiceRoute("api");
+        RegistryRoutingTable.Route greeting = table.getFeatureRoute("greeting");
+        var featureInstances = table.getFeatureInstances();
+
+        table.upsert(descriptor("other", "other@2", "http://o2", null));
+
+        assertThat(table.getServiceRoute("api")).isSameAs(api);
+        assertThat(table.getFeatureRoute("greeting")).isSameAs(greeting);
+        assertThat(table.getFeatureInstances()).isSameAs(featureInstances);
+        assertThat(table.getServiceRoute("other").internalUrls()).containsExactly("http://o1", "http://o2");
+    }
+
+    @Test
+    void upsert_should_move_instance_when_service_name_changes() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        table.upsert(descriptor("api", "x@1", "http://x1", null));
+        table.upsert(descriptor("renamed", "x@1", "http://x1", null));
+
+        assertThat(table.getServiceRoute("api")).isNull();
+        assertThat(table.getServiceRoute("renamed").internalUrls()).containsExactly("http://x1");
+    }
+
+    @Test
+    void feature_index_should_follow_descriptor_features() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        ServiceDescriptor a1 = descriptor("api", "api@1", "http://a1", null);
+        a1.setFeatures(List.of("greeting", "search"));
+        ServiceDescriptor b1 = descriptor("batch", "batch@1", "http://b1", null);
+        b1.setFeatures(List.of("search"));
+        table.upsert(a1);
+        table.upsert(b1);
+
+        assertThat(table.getFeatureRoute("search").internalUrls()).containsExactlyInAnyOrder("http://a1", "http://b1");
+        assertThat(table.getFeatureRoute("greeting").internalUrls()).containsExactly("http://a1");
+        assertThat(table.getFeatureInstances()).containsOnlyKeys("greeting", "search");
+
+        ServiceDescriptor a1Updated = descriptor("api", "api@1", "http://a1", null);
+        a1Updated.setFeatures(List.of("search"));
+        table.upsert(a1Updated);
+        assertThat(table.getFeatureRoute("greeting")).isNull();
+
+        table.remove("batch@1");
+        assertThat(table.getFeatureRoute("search").internalUrls()).containsExactly("http://a1");
+        assertThat(table.getFeatureInstances().get("search")).extracting(ServiceDescriptor::getInstanceId)
+            .containsExactly("api@1");
+    }
+
+    @Test
+    void remove_and_reload_should_keep_routes_consistent() {
+        RegistryRoutingTable table = new RegistryRoutingTable();
+        table.upsert(descriptor("api", "api@1", "http://a1", null));
+        table.upsert(descriptor("api", "api@2", "http://a2", null));
+
+        table.remove("api@1");
+        assertThat(table.getServiceRoute("api").internalUrls()).containsExactly("http://a2");
+
+        table.remove("api@2");
+        assertThat(table.getServiceRoute("api")).isNull();
+
+        table.reload(List.of(descriptor("api", "api@3", "http://a3", null)));
+        assertThat(table.getServiceRoute("api").internalUrls()).containsExactly("http://a3");
+
+        table.clear();
+        assertThat(table.getServiceRoute("api")).isNull();
+    }
+}
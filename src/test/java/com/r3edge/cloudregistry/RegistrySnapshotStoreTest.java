@@ -0,0 +1,109 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RegistrySnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<ServiceDescriptor> registry = new ArrayList<>(List.of(
+        ServiceDescriptor.builder().serviceName("api").instanceId("api@1").internalBaseUrl("http://10.0.0.1:8080")
+            .externalBaseUrl("https://api.example.com").features(List.of("search", "greeting"))
+            .metadata(Map.of("zone", "eu-west-1a")).build(),
+        ServiceDescriptor.builder().serviceName("db").instanceId("db@1").internalBaseUrl("http://10.0.0.2:8080")
+            .build()));
+
+    @Test
+    void changes_should_be_written_after_the_debounce_and_reloaded_identically() {
+        Path file = dir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofMinutes(1), () -> registry);
+
+        store.changed();
+        store.changed();
+        assertThat(file).doesNotExist();
+
+        store.close();
+        assertThat(new RegistrySnapshotStore(file, Duration.ofMinutes(1), List::of).load())
+            .containsExactlyElementsOf(registry);
+        assertThat(dir).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void debounced_write_should_happen_without_close() throws Exception {
+        Path file = dir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofMillis(20), () -> registry);
+
+        store.changed();
+        for (int i = 0; i < 100 && !Files.exists(file); i++) {
+            Thread.sleep(20);
+        }
+
+        assertThat(store.load()).hasSize(2);
+    }
+
+    @Test
+    void close_should_let_a_running_write_finish_and_write_the_last_change() throws Exception {
+        Path file = dir.resolve("registry.snapshot");
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch closing = new CountDownLatch(1);
+        List<ServiceDescriptor> current = new ArrayList<>(registry.subList(0, 1));
+        RegistrySnapshotStore[] store = new RegistrySnapshotStore[1];
+        store[0] = new RegistrySnapshotStore(file, Duration.ofMillis(1), () -> {
+            if (writing.getCount() > 0) {
+                writing.countDown();
+                awaitQuietly(closing);
+                // Changement survenu pendant l'écriture en cours
+                current.add(registry.get(1));
+                store[0].changed();
+                return List.of(registry.get(0));
+            }
+            return current;
+        });
+
+        store[0].changed();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread closer = new Thread(store[0]::close);
+        closer.start();
+        Thread.sleep(100);
+        closing.countDown();
+        closer.join(5_000);
+
+        assertThat(store[0].load()).containsExactlyElementsOf(registry);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void missing_or_corrupted_snapshot_should_be_ignored() throws Exception {
+        Path file = dir.resolve("registry.snapshot");
+        RegistrySnapshotStore store = new RegistrySnapshotStore(file, Duration.ofMinutes(1), () -> registry);
+        assertThat(store.load()).isEmpty();
+
+        byte[] bytes = RegistrySnapshotStore.encode(registry);
+        bytes[bytes.length / 2] ^= 0x5a;
+        Files.write(file, bytes);
+        assertThat(store.load()).isEmpty();
+
+        Files.write(file, new byte[] { 1, 2, 3 });
+        assertThat(store.load()).isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class RemoveFeatureEntryProcessorTest {
+
+    @Test
+    void process_should_remove_feature_and_write_back() {
+        ServiceDescriptor descriptor = ServiceDescriptor.builder()
+            .instanceId("api@1")
+            .features(List.of("greeting", "search"))
+            .build();
+        Map.Entry<String, ServiceDescriptor> entry = new AbstractMap.SimpleEntry<>("api@1", descriptor);
+
+        Boolean changed = new RemoveFeatureEntryProcessor("greeting").process(entry);
+
+        assertThat(changed).isTrue();
+        assertThat(entry.getValue().getFeatures()).containsExactly("search");
+    }
+
+    @Test
+    void process_should_be_a_no_op_when_feature_or_entry_is_missing() {
+        Map.Entry<String, ServiceDescriptor> missing = new AbstractMap.SimpleEntry<>("api@1", null);
+        Map.Entry<String, ServiceDescriptor> other = new AbstractMap.SimpleEntry<>("api@2",
+            ServiceDescriptor.builder().features(List.of("search")).build());
+
+        assertThat(new RemoveFeatureEntryProcessor("greeting").process(missing)).isFalse();
+        assertThat(new RemoveFeatureEntryProcessor("greeting").process(other)).isFalse();
+        assertThat(other.getValue().getFeatures()).containsExactly("search");
+    }
+}
@@ -0,0 +1,55 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+
+class ServiceDescriptorSerializationTest {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder()
+        .addDataSerializableFactory(RegistryDataSerializableFactory.FACTORY_ID, new RegistryDataSerializableFactory())
+        .build();
+
+    @Test
+    void identifiedDataSerializable_roundtrip_should_preserve_all_fields() {
+        ServiceDescriptor descriptor = ServiceDescriptor.builder()
+            .serviceName("registry-api")
+            .instanceId("registry-api@10.0.0.1:8080")
+            .internalBaseUrl("http://10.0.0.1:8080")
+            .externalBaseUrl(null)
+            .features(List.of("greeting", "featureB"))
+            .metadata(Map.of("zone", "eu-west-1a"))
+            .build();
+
+        Data data = serializationService.toData(descriptor);
+        ServiceDescriptor copy = serializationService.toObject(data);
+
+        assertThat(copy).isEqualTo(descriptor);
+    }
+
+    @Test
+    void identifiedDataSerializable_roundtrip_should_preserve_null_collections() {
+        ServiceDescriptor descriptor = ServiceDescriptor.builder().serviceName("svc").instanceId("svc@1").build();
+
+        ServiceDescriptor copy = serializationService.toObject(serializationService.toData(descriptor));
+
+        assertThat(copy.getFeatures()).isNull();
+        assertThat(copy.getMetadata()).isNull();
+        assertThat(copy).isEqualTo(descriptor);
+    }
+
+    @Test
+    void json_should_not_expose_hazelcast_identifiers() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(ServiceDescriptor.builder().serviceName("svc").build());
+
+        assertThat(json).doesNotContain("factoryId").doesNotContain("classId");
+    }
+}
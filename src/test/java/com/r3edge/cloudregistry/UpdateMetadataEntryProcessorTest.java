@@ -0,0 +1,36 @@
+package com.r3edge.cloudregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.AbstractMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class UpdateMetadataEntryProcessorTest {
+
+    @Test
+    void process_should_merge_entries_and_keep_other_metadata() {
+        ServiceDescriptor descriptor = ServiceDescriptor.builder()
+            .instanceId("api@1")
+            .metadata(Map.of("zone", "eu-west-1a", "load.cpu", "10"))
+            .build();
+        Map.Entry<String, ServiceDescriptor> entry = new AbstractMap.SimpleEntry<>("api@1", descriptor);
+
+        Boolean changed = new UpdateMetadataEntryProcessor(Map.of("load.cpu", "75")).process(entry);
+
+        assertThat(changed).isTrue();
+        assertThat(entry.getValue().getMetadata()).containsExactlyInAnyOrderEntriesOf(
+            Map.of("zone", "eu-west-1a", "load.cpu", "75"));
+    }
+
+    @Test
+    void process_should_be_a_no_op_when_values_are_unchanged_or_entry_is_missing() {
+        Map.Entry<String, ServiceDescriptor> missing = new AbstractMap.SimpleEntry<>("api@1", null);
+        Map.Entry<String, ServiceDescriptor> same = new AbstractMap.SimpleEntry<>("api@2",
+            ServiceDescriptor.builder().metadata(Map.of("load.cpu", "10")).build());
+
+        assertThat(new UpdateMetadataEntryProcessor(Map.of("load.cpu", "10")).process(missing)).isFalse();
+        assertThat(new UpdateMetadataEntryProcessor(Map.of("load.cpu", "10")).process(same)).isFalse();
+    }
+}
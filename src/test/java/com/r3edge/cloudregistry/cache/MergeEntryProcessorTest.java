@@ -0,0 +1,89 @@
+package com.r3edge.cloudregistry.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.r3edge.cloudregistry.RegistryDataSerializableFactory;
+
+class MergeEntryProcessorTest {
+
+    private HazelcastInstance hz;
+
+    @BeforeEach
+    void startMember() {
+        Config config = new Config();
+        config.setClusterName("merge-processor-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig().addDataSerializableFactory(RegistryDataSerializableFactory.FACTORY_ID,
+            new RegistryDataSerializableFactory());
+        hz = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterEach
+    void stopMember() {
+        hz.shutdown();
+    }
+
+    private CacheGateway gateway(int minSize) {
+        CacheProperties.Compression compression = new CacheProperties.Compression();
+        compression.setMinSize(minSize);
+        CacheManager manager = new CacheConfig.CompressingCacheManager(new HazelcastCacheManager(hz), compression,
+            new ObjectMapper());
+        return new SpringCacheGateway(manager);
+    }
+
+    @Test
+    void concurrent_deltas_should_not_be_lost() throws Exception {
+        CacheGateway gateway = gateway(256);
+        CacheMerger<Long> sum = (existing, delta) -> existing.orElse(0L) + delta;
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        gateway.putSmart("counters", "hits", 1L, sum, CacheGateway.WriteOpts.none());
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(gateway.get("counters", "hits", Long.class)).contains(800L);
+    }
+
+    @Test
+    void merge_should_keep_the_cache_storage_format_and_ttl() {
+        CacheGateway gateway = gateway(16);
+        CacheMerger<String> append = (existing, delta) -> existing.map(v -> v + "," + delta).orElse(delta);
+
+        for (int i = 0; i < 10; i++) {
+            gateway.putSmart("journal", "k", "événement-" + i, append, CacheGateway.WriteOpts.ttl(60));
+        }
+
+        assertThat(hz.getMap("journal").get("k")).isInstanceOf(byte[].class);
+        assertThat(gateway.get("journal", "k", String.class)).hasValueSatisfying(v -> assertThat(v.split(",")).hasSize(10));
+        assertThat(hz.getMap("journal").getEntryView("k").getTtl()).isEqualTo(60_000L);
+    }
+}
@@ -0,0 +1,134 @@
+package com.r3edge.cloudregistry.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrent_loads_of_a_key_should_share_one_call() throws Exception {
+        SingleFlight flight = new SingleFlight(new CacheProperties.Loading());
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.load("k", null, false, Optional::empty, () -> {
+                    calls.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "loaded";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("loaded");
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(flight.load("k", null, false, Optional::empty, () -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    void loader_failures_should_reach_the_caller() {
+        SingleFlight flight = new SingleFlight(new CacheProperties.Loading());
+
+        assertThatThrownBy(() -> flight.load("k", null, false, Optional::empty, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+    }
+
+    @Test
+    void early_refresh_should_only_trigger_near_expiration() throws Exception {
+        SingleFlight flight = new SingleFlight(new CacheProperties.Loading());
+        long now = System.currentTimeMillis();
+        assertThat(flight.shouldRefreshEarly(now + 10)).isFalse();
+
+        flight.load("k", null, false, Optional::empty, () -> {
+            Thread.sleep(20);
+            return "v";
+        });
+
+        assertThat(flight.shouldRefreshEarly(Long.MAX_VALUE)).isFalse();
+        assertThat(flight.shouldRefreshEarly(now + 3_600_000)).isFalse();
+        assertThat(flight.shouldRefreshEarly(now - 1)).isTrue();
+
+        CacheProperties.Loading disabled = new CacheProperties.Loading();
+        disabled.setEarlyRefreshBeta(0);
+        assertThat(new SingleFlight(disabled).shouldRefreshEarly(now - 1)).isFalse();
+    }
+
+    @Test
+    void refresh_followers_should_get_the_current_value_without_waiting() throws Exception {
+        SingleFlight flight = new SingleFlight(new CacheProperties.Loading());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = pool.submit(() -> flight.load("k", null, true, () -> Optional.of("old"), () -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "new";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(flight.load("k", null, true, () -> Optional.of("old"), () -> "unexpected")).isEqualTo("old");
+
+            release.countDown();
+            assertThat(leader.get()).isEqualTo("new");
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void an_expired_lock_lease_should_not_fail_the_load() throws Exception {
+        Config config = new Config();
+        config.setClusterName("single-flight-lease-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        try {
+            CacheProperties.Loading settings = new CacheProperties.Loading();
+            settings.setClusterLock(true);
+            settings.setLockLease(Duration.ofMillis(100));
+            SingleFlight flight = new SingleFlight(settings);
+            IMap<Object, Object> map = hz.getMap("lease");
+
+            String value = flight.load("k", map, false, Optional::empty, () -> {
+                Thread.sleep(500);
+                return "slow";
+            });
+
+            assertThat(value).isEqualTo("slow");
+            assertThat(map.isLocked("k")).isFalse();
+        } finally {
+            hz.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.r3edge.cloudregistry.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+
+class SpringAsyncCacheGatewayTest {
+
+    private static final String LARGE = "{\"id\":1,\"label\":\"produit\"}".repeat(40);
+
+    @Test
+    void local_cache_calls_should_run_on_the_executor() {
+        AsyncCacheGateway gateway = new SpringAsyncCacheGateway(new ConcurrentMapCacheManager());
+
+        gateway.put("items", "k", "v", CacheGateway.WriteOpts.none()).toCompletableFuture().join();
+        assertThat(gateway.get("items", "k", String.class).toCompletableFuture().join()).contains("v");
+
+        gateway.evict("items", "k").toCompletableFuture().join();
+        assertThat(gateway.get("items", "k", String.class).toCompletableFuture().join()).isEmpty();
+    }
+
+    @Test
+    void imap_calls_should_fan_out_and_decode_on_the_codec_executor() {
+        Config config = new Config();
+        config.setClusterName("async-cache-gateway-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        AtomicInteger codecTasks = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CacheManager manager = new CacheConfig.CompressingCacheManager(new HazelcastCacheManager(hz),
+                new CacheProperties.Compression(), new ObjectMapper());
+            AsyncCacheGateway gateway = new SpringAsyncCacheGateway(manager, task -> {
+                codecTasks.incrementAndGet();
+                pool.execute(task);
+            });
+
+            CompletableFuture.allOf(IntStream.range(0, 50)
+                .mapToObj(i -> gateway.put("items", "k" + i, LARGE + i, CacheGateway.WriteOpts.ttl(60)).toCompletableFuture())
+                .toArray(CompletableFuture[]::new)).join();
+            assertThat(hz.getMap("items").get("k7")).isInstanceOf(byte[].class);
+
+            codecTasks.set(0);
+            List<CompletableFuture<Optional<String>>> reads = IntStream.range(0, 50)
+                .mapToObj(i -> gateway.get("items", "k" + i, String.class).toCompletableFuture())
+                .toList();
+            assertThat(reads.get(7).join()).contains(LARGE + 7);
+            assertThat(reads.stream().map(CompletableFuture::join)).allMatch(Optional::isPresent);
+            assertThat(codecTasks.get()).isEqualTo(50);
+
+            gateway.evict("items", "k7").toCompletableFuture().join();
+            assertThat(gateway.get("items", "k7", String.class).toCompletableFuture().join()).isEmpty();
+        } finally {
+            pool.shutdown();
+            hz.shutdown();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.r3edge.cloudregistry.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spring.cache.HazelcastCache;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import com.r3edge.cloudregistry.metrics.CacheMetrics;
+
+class SpringCacheGatewayTest {
+
+    private static Map<Object, Object> page(int size) {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            entries.put("item-" + i, "{\"id\":" + i + ",\"label\":\"produit\"}".repeat(20));
+        }
+        return entries;
+    }
+
+    private static void assertBatchOperations(CacheGateway gateway, CacheGateway.WriteOpts opts) {
+        Map<Object, Object> entries = page(200);
+        gateway.putAll("items", entries, opts);
+
+        Map<Object, String> found = gateway.getAll("items", List.of("item-0", "item-199", "absent"), String.class);
+        assertThat(found).containsOnlyKeys("item-0", "item-199");
+        assertThat(found.get("item-199")).isEqualTo(entries.get("item-199"));
+
+        gateway.evictAll("items", List.of("item-0", "item-1"));
+        assertThat(gateway.getAll("items", List.of("item-0", "item-1", "item-2"), String.class))
+            .containsOnlyKeys("item-2");
+    }
+
+    @Test
+    void batch_operations_should_loop_over_a_local_cache() {
+        assertBatchOperations(new SpringCacheGateway(new ConcurrentMapCacheManager()), CacheGateway.WriteOpts.none());
+    }
+
+    @Test
+    void batch_operations_should_use_imap_bulk_calls_and_keep_the_codec_and_ttl() {
+        Config config = new Config();
+        config.setClusterName("cache-gateway-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        try {
+            CacheManager manager = new CacheConfig.CompressingCacheManager(new HazelcastCacheManager(hz),
+                new CacheProperties.Compression(), new ObjectMapper());
+            CacheGateway gateway = new SpringCacheGateway(manager);
+
+            assertBatchOperations(gateway, CacheGateway.WriteOpts.ttl(120));
+
+            assertThat(hz.getMap("items").get("item-2")).isInstanceOf(byte[].class);
+            assertThat(hz.getMap("items").getEntryView("item-2").getTtl()).isEqualTo(120_000L);
+
+            gateway.putAll("plain", Map.of("a", 1, "b", 2), CacheGateway.WriteOpts.none());
+            assertThat(gateway.getAll("plain", List.of("a", "b"), Integer.class)).containsEntry("a", 1).containsEntry("b", 2);
+        } finally {
+            hz.shutdown();
+        }
+    }
+
+    @Test
+    void get_or_load_should_call_the_loader_once_under_the_cluster_lock() throws Exception {
+        Config config = new Config();
+        config.setClusterName("cache-gateway-load-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CacheProperties properties = new CacheProperties();
+            properties.getLoading().setClusterLock(true);
+            CacheGateway gateway = new SpringCacheGateway(new HazelcastCacheManager(hz), properties,
+                CacheMetrics.NOOP);
+            AtomicInteger loads = new AtomicInteger();
+
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> gateway.getOrLoad("hot", "k", String.class, () -> {
+                    loads.incrementAndGet();
+                    sleep(100);
+                    return "from-db";
+                }, CacheGateway.WriteOpts.ttl(60))));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("from-db");
+            }
+
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(hz.getMap("hot").isLocked("k")).isFalse();
+            assertThat(hz.getMap("hot").getEntryView("k").getTtl()).isEqualTo(60_000L);
+        } finally {
+            pool.shutdown();
+            hz.shutdown();
+        }
+    }
+
+    @Test
+    void stale_values_should_be_served_while_revalidating_in_background() throws Exception {
+        Config config = new Config();
+        config.setClusterName("cache-gateway-swr-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        try {
+            CacheGateway gateway = new SpringCacheGateway(new HazelcastCacheManager(hz));
+            // Hazelcast horodate les entrées à la seconde : marge d'une seconde de part et d'autre du soft TTL
+            CacheGateway.WriteOpts swr = CacheGateway.WriteOpts.staleWhileRevalidate(2, 60);
+            AtomicInteger version = new AtomicInteger();
+            Supplier<String> slowLoader = () -> {
+                sleep(300);
+                return "v" + version.incrementAndGet();
+            };
+
+            assertThat(gateway.getOrLoad("swr", "k", String.class, slowLoader, swr)).isEqualTo("v1");
+            assertThat(gateway.getOrLoad("swr", "k", String.class, slowLoader, swr)).isEqualTo("v1");
+
+            Thread.sleep(3100);
+            long start = System.nanoTime();
+            assertThat(gateway.getOrLoad("swr", "k", String.class, slowLoader, swr)).isEqualTo("v1");
+            assertThat(System.nanoTime() - start).isLessThan(200_000_000L);
+
+            await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(gateway.get("swr", "k", String.class)).contains("v2"));
+            assertThat(version.get()).isEqualTo(2);
+            assertThat(hz.getMap("swr").getEntryView("k").getTtl()).isEqualTo(60_000L);
+        } finally {
+            hz.shutdown();
+        }
+    }
+
+    @Test
+    void ttl_hits_should_not_read_the_entry_view_until_a_refresh_is_due() {
+        Config config = new Config();
+        config.setClusterName("cache-gateway-xfetch-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        try {
+            AtomicInteger entryViews = new AtomicInteger();
+            CacheManager manager = new CacheManager() {
+                @Override
+                public Cache getCache(String name) {
+                    return new HazelcastCache(countingEntryViews(hz.getMap(name), entryViews));
+                }
+
+                @Override
+                public Collection<String> getCacheNames() {
+                    return List.of();
+                }
+            };
+            CacheGateway gateway = new SpringCacheGateway(manager);
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<String> loader = () -> "v" + loads.incrementAndGet();
+
+            for (int i = 0; i < 20; i++) {
+                assertThat(gateway.getOrLoad("xfetch", "k", String.class, loader, CacheGateway.WriteOpts.ttl(60)))
+                    .isEqualTo("v1");
+            }
+
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(entryViews.get()).isZero();
+        } finally {
+            hz.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IMap<Object, Object> countingEntryViews(IMap<Object, Object> map, AtomicInteger entryViews) {
+        return (IMap<Object, Object>) Proxy.newProxyInstance(IMap.class.getClassLoader(), new Class<?>[] { IMap.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("getEntryView")) entryViews.incrementAndGet();
+                try {
+                    return method.invoke(map, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.r3edge.cloudregistry.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+
+class TieredCacheManagerTest {
+
+    private static CacheProperties.Tiered tiered(int maxSize, Duration ttl) {
+        CacheProperties.Tiered tiered = new CacheProperties.Tiered();
+        tiered.setEnabled(true);
+        tiered.setMaxSize(maxSize);
+        tiered.setTtl(ttl);
+        return tiered;
+    }
+
+    @Test
+    void local_tier_should_serve_hits_until_invalidated() {
+        ConcurrentMapCacheManager l2 = new ConcurrentMapCacheManager();
+        Cache cache = new TieredCacheManager(l2, tiered(100, Duration.ofMinutes(1))).getCache("items");
+        cache.put("k", "v1");
+        assertThat(cache.get("k", String.class)).isEqualTo("v1");
+
+        // Écriture en L2 sans passer par le décorateur : le L1 sert encore l'ancienne valeur
+        l2.getCache("items").put("k", "v2");
+        assertThat(cache.get("k", String.class)).isEqualTo("v1");
+
+        cache.evict("k");
+        assertThat(cache.get("k")).isNull();
+        cache.put("k", "v3");
+        assertThat(cache.get("k", String.class)).isEqualTo("v3");
+    }
+
+    @Test
+    void local_tier_should_honour_size_and_ttl_limits() throws InterruptedException {
+        ConcurrentMapCacheManager l2 = new ConcurrentMapCacheManager();
+        TieredCacheManager.LocalCache local = new TieredCacheManager.LocalCache(2, Duration.ofMillis(50).toNanos());
+        local.putIfCurrent("a", 1, local.version());
+        local.putIfCurrent("b", 2, local.version());
+        local.putIfCurrent("c", 3, local.version());
+        assertThat(local.get("a")).isNull();
+        assertThat(local.get("c").get()).isEqualTo(3);
+
+        Thread.sleep(80);
+        assertThat(local.get("c")).isNull();
+
+        long staleVersion = local.version();
+        local.invalidate("b");
+        local.putIfCurrent("b", 20, staleVersion);
+        assertThat(local.get("b")).isNull();
+        assertThat(l2.getCacheNames()).isEmpty();
+    }
+
+    @Test
+    void direct_imap_writes_should_invalidate_local_tier() {
+        Config config = new Config();
+        config.setClusterName("tiered-cache-test");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        HazelcastInstance hz = Hazelcast.newHazelcastInstance(config);
+        try {
+            CacheProperties.Tiered tiered = tiered(100, Duration.ofMinutes(1));
+            tiered.setCaches(Map.of());
+            Cache cache = new TieredCacheManager(new HazelcastCacheManager(hz), tiered).getCache("items");
+            cache.put("k", "v1");
+            assertThat(cache.get("k", String.class)).isEqualTo("v1");
+
+            IMap<Object, Object> map = hz.getMap("items");
+            map.set("k", "v2");
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> "v2".equals(cache.get("k", String.class)));
+        } finally {
+            hz.shutdown();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.r3edge.cloudregistry.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+class ValueCodecTest {
+
+    private static final String LARGE = "{\"id\":42,\"label\":\"produit\",\"tags\":[\"a\",\"b\"]}".repeat(50);
+
+    private static ValueCodec compressor(String codec, int minSize, String dictionary) {
+        return codec(codec, minSize, dictionary, "none");
+    }
+
+    private static ValueCodec codec(String codec, int minSize, String dictionary, String objects) {
+        CacheProperties.Compression settings = new CacheProperties.Compression();
+        settings.setCodec(codec);
+        settings.setMinSize(minSize);
+        settings.setDictionary(dictionary);
+        settings.setObjects(objects);
+        return ValueCodec.of(settings.forCache("any"), new ObjectMapper());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Product {
+        private long id;
+        private String label;
+        private List<String> tags;
+    }
+
+    @Test
+    void small_strings_should_be_stored_as_is() {
+        ValueCodec deflate = compressor("deflate", 256, null);
+
+        assertThat(deflate.encode("court")).isEqualTo("court");
+        assertThat(deflate.encode(12)).isEqualTo(12);
+    }
+
+    @Test
+    void each_codec_should_roundtrip_with_a_header_byte() {
+        for (String codec : new String[] { "deflate", "fast", "dictionary" }) {
+            ValueCodec compressor = compressor(codec, 16, "{\"id\":,\"label\":\"produit\",\"tags\":[");
+            Object stored = compressor.encode(LARGE);
+
+            assertThat(stored).isInstanceOf(byte[].class);
+            assertThat(((byte[]) stored)[0]).isEqualTo(ValueCodec.ZLIB);
+            assertThat(((byte[]) stored).length).isLessThan(LARGE.length());
+            assertThat(compressor.decode(stored)).isEqualTo(LARGE);
+        }
+    }
+
+    @Test
+    void codec_switch_should_keep_previous_values_readable() throws Exception {
+        Object deflated = compressor("deflate", 16, null).encode(LARGE);
+        ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(legacy)) {
+            gz.write(LARGE.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ValueCodec none = compressor("none", 16, null);
+
+        assertThat(none.encode(LARGE)).isEqualTo(LARGE);
+        assertThat(none.decode(deflated)).isEqualTo(LARGE);
+        assertThat(none.decode(legacy.toByteArray())).isEqualTo(LARGE);
+    }
+
+    @Test
+    void dictionary_values_should_require_the_dictionary() {
+        Object stored = compressor("dictionary", 16, "produit").encode(LARGE);
+
+        assertThatThrownBy(() -> compressor("deflate", 16, null).decode(stored))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> compressor("lz77", 16, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void objects_should_be_stored_as_is_unless_json_is_enabled() {
+        Product product = new Product(42, "produit", List.of("a", "b"));
+
+        assertThat(compressor("deflate", 16, null).encode(product)).isSameAs(product);
+        assertThat(codec("deflate", 16, null, "json").encode(7L)).isEqualTo(7L);
+    }
+
+    @Test
+    void raw_bytes_should_roundtrip_whatever_their_first_byte() {
+        byte[][] values = { {}, { ValueCodec.ZLIB, 1, 2 }, { ValueCodec.JSON, 0, 1, 'x' }, { 0x1f, (byte) 0x8b, 8 },
+            { ValueCodec.RAW, 7 } };
+        for (String codec : new String[] { "none", "deflate" }) {
+            ValueCodec valueCodec = codec(codec, 1, null, "json");
+            for (byte[] value : values) {
+                Object stored = valueCodec.encode(value);
+                assertThat(((byte[]) stored)[0]).isEqualTo(ValueCodec.RAW);
+                assertThat(valueCodec.decode(stored)).isEqualTo(value);
+            }
+        }
+    }
+
+    @Test
+    void json_objects_should_roundtrip_to_their_class() {
+        Product small = new Product(1, "p", List.of());
+        Product large = new Product(42, "produit", Collections.nCopies(200, "étiquette"));
+
+        for (String codec : new String[] { "none", "deflate", "dictionary" }) {
+            ValueCodec json = codec(codec, 64, "{\"id\":,\"label\":\"tags\":[\"étiquette\"", "json");
+            Object storedSmall = json.encode(small);
+            Object storedLarge = json.encode(large);
+
+            assertThat(((byte[]) storedSmall)[0]).isEqualTo(ValueCodec.JSON);
+            assertThat(((byte[]) storedLarge)[0]).isEqualTo(codec.equals("none") ? ValueCodec.JSON : ValueCodec.JSON_ZLIB);
+            assertThat(json.decode(storedSmall)).isEqualTo(small);
+            assertThat(json.decode(storedLarge)).isEqualTo(large);
+        }
+    }
+
+    @Test
+    void json_values_should_stay_readable_after_disabling_objects() {
+        Object stored = codec("deflate", 16, null, "json").encode(Map.of("k", "v".repeat(100)));
+
+        assertThat(compressor("deflate", 16, null).decode(stored)).isEqualTo(Map.of("k", "v".repeat(100)));
+        assertThatThrownBy(() -> codec("deflate", 16, null, "xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Tag {
+        private String name;
+    }
+
+    /** Valeur JSON telle qu'écrite par un autre membre (classe jamais encodée par cette JVM). */
+    private static byte[] foreignJson(String className, String json) {
+        byte[] type = className.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = json.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ValueCodec.JSON);
+        out.write(type.length >>> 8);
+        out.write(type.length);
+        out.writeBytes(type);
+        out.writeBytes(payload);
+        return out.toByteArray();
+    }
+
+    @Test
+    void json_values_of_untrusted_classes_should_be_treated_as_absent() {
+        byte[] tag = foreignJson(Tag.class.getName(), "{\"name\":\"promo\"}");
+        byte[] gadget = foreignJson("java.lang.ProcessBuilder", "{}");
+
+        assertThat(codec("deflate", 16, null, "json").decode(tag)).isNull();
+
+        CacheProperties.Compression settings = new CacheProperties.Compression();
+        settings.setObjects("json");
+        settings.setTrustedTypes(List.of("com.r3edge.cloudregistry.cache"));
+        ValueCodec trusting = ValueCodec.of(settings.forCache("any"), new ObjectMapper());
+
+        assertThat(trusting.decode(tag)).isEqualTo(new Tag("promo"));
+        assertThat(trusting.decode(gadget)).isNull();
+    }
+
+    @Test
+    void per_cache_override_should_only_replace_the_settings_it_declares() {
+        CacheProperties.Compression settings = new CacheProperties.Compression();
+        settings.setCodec("fast");
+        CacheProperties.Compression override = new CacheProperties.Compression();
+        override.setObjects("json");
+        settings.getCaches().put("products", override);
+
+        CacheProperties.Compression effective = settings.forCache("products");
+
+        assertThat(effective.getCodec()).isEqualTo("fast");
+        assertThat(effective.getObjects()).isEqualTo("json");
+        assertThat(effective.getMinSize()).isEqualTo(256);
+        assertThat(settings.forCache("other").getObjects()).isEqualTo("none");
+    }
+}
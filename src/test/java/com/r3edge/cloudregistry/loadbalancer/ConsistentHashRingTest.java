@@ -0,0 +1,75 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> KEYS = IntStream.range(0, 10_000).mapToObj(i -> "user-" + i).toList();
+
+    @Test
+    void same_key_should_always_resolve_to_the_same_instance() {
+        ConsistentHashRing ring = ConsistentHashRing.of(instances(5), 160);
+
+        assertThat(ring.owner("tenant-42")).isEqualTo(ring.owner("tenant-42"));
+        assertThat(ConsistentHashRing.of(List.of(), 160).owner("tenant-42")).isNull();
+    }
+
+    @Test
+    void keys_should_be_spread_over_all_instances() {
+        ConsistentHashRing ring = ConsistentHashRing.of(instances(10), 160);
+        Map<String, Integer> counts = new HashMap<>();
+        KEYS.forEach(key -> counts.merge(ring.owner(key), 1, Integer::sum));
+
+        assertThat(counts).hasSize(10);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(700, 1300));
+    }
+
+    @Test
+    void adding_an_instance_should_only_move_keys_to_it() {
+        ConsistentHashRing before = ConsistentHashRing.of(instances(10), 160);
+        List<String> grown = new ArrayList<>(instances(10));
+        grown.add("api@10");
+        ConsistentHashRing after = before.update(grown);
+
+        List<String> moved = KEYS.stream().filter(key -> !before.owner(key).equals(after.owner(key))).toList();
+        assertThat(moved).allSatisfy(key -> assertThat(after.owner(key)).isEqualTo("api@10"));
+        assertThat(moved.size()).isLessThan(KEYS.size() / 11 * 2);
+    }
+
+    @Test
+    void incremental_update_should_match_a_full_rebuild() {
+        ConsistentHashRing incremental = ConsistentHashRing.of(instances(6), 64)
+            .update(List.of("api@1", "api@2", "api@3", "api@7", "api@8"));
+        ConsistentHashRing rebuilt = ConsistentHashRing.of(List.of("api@1", "api@2", "api@3", "api@7", "api@8"), 64);
+
+        assertThat(KEYS).allSatisfy(key -> assertThat(incremental.owner(key)).isEqualTo(rebuilt.owner(key)));
+        assertThat(incremental.update(rebuilt.members())).isSameAs(incremental);
+    }
+
+    @Test
+    void ineligible_owner_should_hand_its_keys_to_the_next_instance_only() {
+        ConsistentHashRing ring = ConsistentHashRing.of(instances(5), 160);
+
+        assertThat(KEYS).allSatisfy(key -> {
+            String owner = ring.owner(key);
+            String fallback = ring.owner(key, id -> !id.equals("api@0"));
+            if (owner.equals("api@0")) {
+                assertThat(fallback).isNotEqualTo("api@0");
+            } else {
+                assertThat(fallback).isEqualTo(owner);
+            }
+        });
+    }
+
+    private static List<String> instances(int n) {
+        return IntStream.range(0, n).mapToObj(i -> "api@" + i).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+
+class LoadBalancerTest {
+
+    private static final String[] URLS = { "http://one", "http://two", "http://three" };
+
+    @Test
+    void roundRobin_should_cycle_over_urls_per_key() {
+        RoundRobinLoadBalancer lb = new RoundRobinLoadBalancer();
+
+        assertThat(List.of(lb.choose("a", URLS), lb.choose("a", URLS), lb.choose("a", URLS), lb.choose("a", URLS)))
+            .containsExactly("http://one", "http://two", "http://three", "http://one");
+        assertThat(lb.choose("b", URLS)).isEqualTo("http://one");
+    }
+
+    @RepeatedTest(10)
+    void powerOfTwoChoices_should_never_pick_the_most_loaded_of_two() {
+        InFlightRequestTracker tracker = new InFlightRequestTracker();
+        tracker.begin("http://busy");
+        tracker.begin("http://busy");
+        PowerOfTwoChoicesLoadBalancer lb = new PowerOfTwoChoicesLoadBalancer(tracker);
+
+        assertThat(lb.choose("svc", new String[] { "http://busy", "http://idle" })).isEqualTo("http://idle");
+    }
+
+    @Test
+    void leastOutstandingRequests_should_pick_the_least_loaded() {
+        InFlightRequestTracker tracker = new InFlightRequestTracker();
+        tracker.begin("http://one");
+        tracker.begin("http://two");
+        tracker.begin("http://two");
+        tracker.begin("http://three");
+        tracker.end("http://one");
+        LeastOutstandingRequestsLoadBalancer lb = new LeastOutstandingRequestsLoadBalancer(tracker);
+
+        assertThat(lb.choose("svc", URLS)).isEqualTo("http://one");
+        assertThat(tracker.inFlight("http://two")).isEqualTo(2);
+    }
+
+    @Test
+    void empty_candidates_should_resolve_to_null() {
+        InFlightRequestTracker tracker = new InFlightRequestTracker();
+        assertThat(new RandomLoadBalancer().choose("svc", new String[0])).isNull();
+        assertThat(new RoundRobinLoadBalancer().choose("svc", new String[0])).isNull();
+        assertThat(new PowerOfTwoChoicesLoadBalancer(tracker).choose("svc", new String[0])).isNull();
+        assertThat(new LeastOutstandingRequestsLoadBalancer(tracker).choose("svc", new String[0])).isNull();
+    }
+
+    @Test
+    void selector_should_apply_per_service_strategy_and_fallback_to_default() {
+        ServiceRegistryProperties properties = new ServiceRegistryProperties();
+        properties.getLoadBalancing().setServices(Map.of("rr-service", "round-robin", "typo-service", "unknown"));
+        RoundRobinLoadBalancer roundRobin = new RoundRobinLoadBalancer();
+        LoadBalancerSelector selector = new LoadBalancerSelector(List.of(roundRobin), properties);
+
+        assertThat(selector.forKey("rr-service")).isSameAs(roundRobin);
+        assertThat(selector.forKey("other")).isInstanceOf(RandomLoadBalancer.class);
+        assertThat(selector.forKey("typo-service")).isInstanceOf(RandomLoadBalancer.class);
+    }
+
+    @RepeatedTest(10)
+    void loadAware_should_avoid_the_instance_publishing_the_highest_load() {
+        Candidates candidates = Candidates.of(List.of(
+            ServiceDescriptor.builder().instanceId("busy").internalBaseUrl("http://busy")
+                .metadata(new LoadSignals(40, 0.9, 12).toMetadata()).build(),
+            ServiceDescriptor.builder().instanceId("idle").internalBaseUrl("http://idle")
+                .metadata(new LoadSignals(2, 0.1, 0).toMetadata()).build()),
+            ServiceDescriptor::getInternalBaseUrl);
+        LoadAwareLoadBalancer lb = new LoadAwareLoadBalancer(new InFlightRequestTracker());
+
+        assertThat(lb.choose("svc", candidates)).isEqualTo("http://idle");
+    }
+
+    @Test
+    void loadSignals_should_round_trip_and_ignore_small_changes() {
+        LoadSignals published = new LoadSignals(20, 0.42, 3);
+        LoadSignals read = LoadSignals.from(ServiceDescriptor.builder().metadata(published.toMetadata()).build());
+
+        assertThat(read).isEqualTo(published);
+        assertThat(LoadSignals.from(ServiceDescriptor.builder().build())).isEqualTo(LoadSignals.UNKNOWN);
+        assertThat(new LoadSignals(22, 0.45, 4).differsFrom(published, 0.2)).isFalse();
+        assertThat(new LoadSignals(30, 0.42, 3).differsFrom(published, 0.2)).isTrue();
+        assertThat(new LoadSignals(20, 0.80, 3).differsFrom(published, 0.2)).isTrue();
+        assertThat(published.differsFrom(null, 0.2)).isTrue();
+    }
+}
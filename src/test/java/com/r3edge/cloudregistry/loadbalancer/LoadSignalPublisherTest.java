@@ -0,0 +1,98 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.r3edge.cloudregistry.DummyServiceRegistry;
+import com.r3edge.cloudregistry.ServiceRegistry;
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+
+import jakarta.servlet.ServletException;
+
+class LoadSignalPublisherTest {
+
+    private final ServiceRegistryProperties properties = new ServiceRegistryProperties();
+    private final List<Map<String, String>> updates = new ArrayList<>();
+    private final Map<String, Object> beans = new HashMap<>();
+
+    private final ServiceRegistry registry = new DummyServiceRegistry(properties, Optional.empty()) {
+        @Override
+        public void updateSelfMetadata(Map<String, String> entries) {
+            updates.add(entries);
+        }
+    };
+
+    private LoadSignalPublisher publisher() {
+        StaticListableBeanFactory factory = new StaticListableBeanFactory(beans);
+        return new LoadSignalPublisher(factory.getBeanProvider(ServiceRegistry.class),
+            factory.getBeanProvider(InboundRequestCounter.class), factory.getBeanProvider(QueueDepthProbe.class),
+            properties);
+    }
+
+    @Test
+    void unchanged_signals_should_not_be_republished() {
+        beans.put("registry", registry);
+        LoadSignalPublisher publisher = publisher();
+        LoadSignals first = new LoadSignals(5, 0.10, 0);
+
+        assertThat(publisher.publishIfChanged(first)).isTrue();
+        assertThat(publisher.publishIfChanged(first)).isFalse();
+        assertThat(publisher.publishIfChanged(new LoadSignals(6, 0.12, 1))).isFalse();
+        assertThat(publisher.publishIfChanged(new LoadSignals(20, 0.10, 0))).isTrue();
+
+        assertThat(updates).containsExactly(first.toMetadata(), new LoadSignals(20, 0.10, 0).toMetadata());
+    }
+
+    @Test
+    void signals_should_be_published_once_the_registry_is_available() {
+        LoadSignals signals = new LoadSignals(5, 0.10, 0);
+
+        assertThat(publisher().publishIfChanged(signals)).isFalse();
+
+        beans.put("registry", registry);
+        LoadSignalPublisher publisher = publisher();
+        assertThat(publisher.publishIfChanged(signals)).isTrue();
+        assertThat(updates).containsExactly(signals.toMetadata());
+    }
+
+    @Test
+    void sample_should_read_the_inbound_counter_and_queue_probe() throws Exception {
+        InboundRequestCounter counter = new InboundRequestCounter();
+        beans.put("inbound", counter);
+        beans.put("queue", (QueueDepthProbe) () -> 7);
+        LoadSignalPublisher publisher = publisher();
+        LoadSignals[] during = new LoadSignals[1];
+
+        counter.doFilter(null, null, (request, response) -> during[0] = publisher.sample());
+
+        assertThat(during[0].inFlight()).isEqualTo(1);
+        assertThat(during[0].queueDepth()).isEqualTo(7);
+        assertThat(publisher.sample().inFlight()).isZero();
+    }
+
+    @Test
+    void inbound_counter_should_be_decremented_when_the_chain_fails() {
+        InboundRequestCounter counter = new InboundRequestCounter();
+        int[] during = new int[1];
+
+        assertThatThrownBy(() -> counter.doFilter(null, null, (request, response) -> {
+            during[0] = counter.inFlight();
+            throw new ServletException("échec");
+        })).isInstanceOf(ServletException.class);
+        assertThatThrownBy(() -> counter.doFilter(null, null, (request, response) -> {
+            throw new IllegalStateException("échec");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(during[0]).isEqualTo(1);
+        assertThat(counter.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LoadSignalsTest {
+
+    private static final double MIN_CHANGE = 0.2;
+
+    @Test
+    void small_counts_should_be_compared_to_the_count_floor() {
+        LoadSignals idle = new LoadSignals(0, 0.0, 0);
+
+        // 20 % d'un plancher de 10 : moins de 2 requêtes d'écart ne comptent pas
+        assertThat(new LoadSignals(2, 0.0, 0).differsFrom(idle, MIN_CHANGE)).isFalse();
+        assertThat(new LoadSignals(3, 0.0, 0).differsFrom(idle, MIN_CHANGE)).isTrue();
+        assertThat(new LoadSignals(0, 0.0, 2).differsFrom(idle, MIN_CHANGE)).isFalse();
+        assertThat(new LoadSignals(0, 0.0, 3).differsFrom(idle, MIN_CHANGE)).isTrue();
+        assertThat(idle.differsFrom(new LoadSignals(2, 0.0, 2), MIN_CHANGE)).isFalse();
+    }
+
+    @Test
+    void large_counts_should_be_compared_relatively() {
+        LoadSignals busy = new LoadSignals(100, 0.5, 100);
+
+        assertThat(new LoadSignals(115, 0.5, 100).differsFrom(busy, MIN_CHANGE)).isFalse();
+        assertThat(new LoadSignals(130, 0.5, 100).differsFrom(busy, MIN_CHANGE)).isTrue();
+        assertThat(new LoadSignals(100, 0.5, 85).differsFrom(busy, MIN_CHANGE)).isFalse();
+        assertThat(new LoadSignals(100, 0.5, 70).differsFrom(busy, MIN_CHANGE)).isTrue();
+    }
+
+    @Test
+    void cpu_should_be_compared_to_the_cpu_floor_then_relatively() {
+        // 20 % d'un plancher de 0,25 : moins de 5 points d'écart ne comptent pas
+        assertThat(new LoadSignals(0, 0.04, 0).differsFrom(LoadSignals.UNKNOWN, MIN_CHANGE)).isFalse();
+        assertThat(new LoadSignals(0, 0.06, 0).differsFrom(LoadSignals.UNKNOWN, MIN_CHANGE)).isTrue();
+        assertThat(new LoadSignals(0, 0.90, 0).differsFrom(new LoadSignals(0, 0.80, 0), MIN_CHANGE)).isFalse();
+        assertThat(new LoadSignals(0, 0.90, 0).differsFrom(new LoadSignals(0, 0.60, 0), MIN_CHANGE)).isTrue();
+    }
+
+    @Test
+    void zero_min_change_should_republish_any_change() {
+        LoadSignals published = new LoadSignals(10, 0.5, 1);
+
+        assertThat(new LoadSignals(11, 0.5, 1).differsFrom(published, 0)).isTrue();
+        assertThat(published.differsFrom(published, 0)).isFalse();
+        assertThat(published.differsFrom(null, 0)).isTrue();
+    }
+
+    @Test
+    void score_should_divide_pending_work_by_the_remaining_cpu() {
+        assertThat(LoadSignals.UNKNOWN.score(0)).isEqualTo(1.0);
+        assertThat(new LoadSignals(2, 0.5, 1).score(3)).isCloseTo(14.0, within(1e-9));
+        // Capacité restante bornée à 5 % : une instance saturée reste classable
+        assertThat(new LoadSignals(0, 1.0, 0).score(0)).isCloseTo(20.0, within(1e-9));
+        assertThat(new LoadSignals(0, 1.0, 0).score(1)).isGreaterThan(new LoadSignals(0, 1.0, 0).score(0));
+        assertThat(new LoadSignals(4, 0.9, 0).score(0)).isGreaterThan(new LoadSignals(4, 0.1, 0).score(0));
+    }
+}
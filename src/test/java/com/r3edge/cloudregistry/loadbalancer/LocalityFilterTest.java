@@ -0,0 +1,77 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+import com.r3edge.cloudregistry.ServiceInstance;
+import com.r3edge.cloudregistry.ServiceRegistryProperties;
+
+class LocalityFilterTest {
+
+    private ServiceRegistryProperties properties;
+    private LocalityFilter filter;
+    private Candidates candidates;
+
+    @BeforeEach
+    void setUp() {
+        ServiceInstance self = new ServiceInstance();
+        self.setInstanceId("api@self");
+        self.setInternalIp("10.0.0.1");
+        self.setMetadata(Map.of("zone", "eu-west-1a"));
+        properties = new ServiceRegistryProperties();
+        properties.getLocality().setEnabled(true);
+        filter = new LocalityFilter(self, properties);
+        candidates = Candidates.of(List.of(
+            instance("api@self", "10.0.0.1", "eu-west-1a"),
+            instance("api@host", "10.0.0.1", "eu-west-1a"),
+            instance("api@zone", "10.0.0.2", "eu-west-1a"),
+            instance("api@far-1", "10.0.1.1", "eu-west-1b"),
+            instance("api@far-2", "10.0.1.2", "eu-west-1b")),
+            ServiceDescriptor::getInternalBaseUrl);
+    }
+
+    @Test
+    void self_should_short_circuit_resolution() {
+        assertThat(filter.filter("api", candidates).urls()).containsExactly("http://api@self");
+    }
+
+    @Test
+    void small_tiers_should_spill_over_to_the_next_one() {
+        properties.getLocality().setMinInstances(2);
+        assertThat(filter.filter("api", candidates).urls()).containsExactly("http://api@self", "http://api@host");
+
+        properties.getLocality().setMinInstances(3);
+        assertThat(filter.filter("api", candidates).urls())
+            .containsExactly("http://api@self", "http://api@host", "http://api@zone");
+
+        properties.getLocality().setMinInstances(4);
+        assertThat(filter.filter("api", candidates)).isSameAs(candidates);
+    }
+
+    @Test
+    void other_services_should_prefer_the_same_zone() {
+        Candidates remote = Candidates.of(List.of(
+            instance("db@zone", "10.0.0.7", "eu-west-1a"),
+            instance("db@far", "10.0.1.7", "eu-west-1b")),
+            ServiceDescriptor::getInternalBaseUrl);
+
+        assertThat(filter.filter("db", remote).urls()).containsExactly("http://db@zone");
+    }
+
+    @Test
+    void disabled_locality_should_keep_all_candidates() {
+        properties.getLocality().setEnabled(false);
+        assertThat(filter.filter("api", candidates)).isSameAs(candidates);
+    }
+
+    private static ServiceDescriptor instance(String id, String ip, String zone) {
+        return ServiceDescriptor.builder().instanceId(id).internalBaseUrl("http://" + id)
+            .metadata(Map.of(LocalityFilter.HOST_METADATA_KEY, ip, "zone", zone)).build();
+    }
+}
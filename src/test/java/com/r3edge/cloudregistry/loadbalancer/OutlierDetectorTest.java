@@ -0,0 +1,125 @@
+package com.r3edge.cloudregistry.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.r3edge.cloudregistry.ServiceDescriptor;
+import com.r3edge.cloudregistry.ServiceRegistryProperties.OutlierDetectionProperties;
+
+class OutlierDetectorTest {
+
+    private static final Duration FAST = Duration.ofMillis(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    private OutlierDetectionProperties properties;
+    private OutlierDetector detector;
+    private Candidates candidates;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutlierDetectionProperties();
+        detector = new OutlierDetector(properties, clock::get);
+        candidates = Candidates.of(List.of(instance("a"), instance("b"), instance("c"), instance("d")),
+            ServiceDescriptor::getInternalBaseUrl);
+    }
+
+    @Test
+    void consecutive_failures_should_eject_until_the_ejection_time_elapses() {
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("http://b", FAST);
+        }
+
+        assertThat(detector.isEjected("http://b")).isTrue();
+        assertThat(detector.filter("api", candidates).urls()).containsExactly("http://a", "http://c", "http://d");
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(detector.filter("api", candidates)).isSameAs(candidates);
+        assertThat(detector.isEjected("http://b")).isFalse();
+    }
+
+    @Test
+    void slow_instance_should_be_ejected_once_enough_calls_are_known() {
+        properties.setSlowLatency(Duration.ofMillis(500));
+        for (int i = 0; i < 9; i++) {
+            detector.recordSuccess("http://c", Duration.ofSeconds(2));
+        }
+        assertThat(detector.isEjected("http://c")).isFalse();
+
+        detector.recordSuccess("http://c", Duration.ofSeconds(2));
+        assertThat(detector.isEjected("http://c")).isTrue();
+    }
+
+    @Test
+    void repeated_ejection_should_last_longer() {
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("http://a", FAST);
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("http://a", FAST);
+        }
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(detector.isEjected("http://a")).isTrue();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(detector.isEjected("http://a")).isFalse();
+    }
+
+    @Test
+    void ejection_should_be_capped_to_the_worst_instances() {
+        for (String id : List.of("a", "b", "c")) {
+            for (int i = 0; i < 5; i++) {
+                detector.recordFailure("http://" + id, FAST);
+            }
+        }
+        // "b" a aussi été lente : c'est l'instance la plus dégradée
+        detector.recordFailure("http://b", Duration.ofSeconds(3));
+
+        Candidates filtered = detector.filter("api", candidates);
+
+        assertThat(filtered.size()).isEqualTo(2);
+        assertThat(filtered.urls()).contains("http://d").doesNotContain("http://b");
+    }
+
+    @Test
+    void single_instance_should_never_be_ejected() {
+        Candidates single = Candidates.of(List.of(instance("a")), ServiceDescriptor::getInternalBaseUrl);
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("http://a", FAST);
+        }
+
+        assertThat(detector.filter("api", single)).isSameAs(single);
+    }
+
+    @Test
+    void disabled_detection_should_keep_all_candidates() {
+        properties.setEnabled(false);
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("http://a", FAST);
+        }
+
+        assertThat(detector.filter("api", candidates)).isSameAs(candidates);
+    }
+
+    @Test
+    void removed_instance_should_forget_its_urls() {
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("http://b", FAST);
+        }
+
+        detector.instanceRemoved(instance("b"));
+
+        assertThat(detector.isEjected("http://b")).isFalse();
+        assertThat(detector.filter("api", candidates)).isSameAs(candidates);
+    }
+
+    private static ServiceDescriptor instance(String id) {
+        return ServiceDescriptor.builder().serviceName("api").instanceId(id).internalBaseUrl("http://" + id).build();
+    }
+}
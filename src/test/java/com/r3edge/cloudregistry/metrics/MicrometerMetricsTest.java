@@ -0,0 +1,74 @@
+package com.r3edge.cloudregistry.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerMetricsTest {
+
+    private static MicrometerMetrics metrics(MeterRegistry registry) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(
+            registry == null ? Map.of() : Map.of("meterRegistry", registry));
+        return new MicrometerMetrics(beans.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void resolutions_should_be_timed_and_empty_ones_counted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerMetrics metrics = metrics(registry);
+        AtomicInteger size = new AtomicInteger(3);
+        metrics.bindRegistrySize(size::get);
+        metrics.resolution("service", "api", 1_000, 2);
+        metrics.afterSingletonsInstantiated();
+
+        metrics.resolution("service", "api", 1_000, 2);
+        metrics.resolution("service", "api", 1_000, 0);
+        metrics.resolution("feature", "search", 1_000, 0);
+        metrics.membership("removed");
+
+        assertThat(registry.get("r3edge.registry.resolution").tags("kind", "service", "name", "api").timer().count())
+            .isEqualTo(2);
+        assertThat(registry.get("r3edge.registry.resolution.empty").tags("name", "api").counter().count()).isEqualTo(1);
+        assertThat(registry.get("r3edge.registry.resolution.empty").tags("kind", "feature").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("r3edge.registry.membership").tag("event", "removed").counter().count()).isEqualTo(1);
+        size.set(5);
+        assertThat(registry.get("r3edge.registry.instances").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void cache_operations_should_be_recorded_per_cache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerMetrics metrics = metrics(registry);
+        metrics.afterSingletonsInstantiated();
+
+        metrics.get("items", true);
+        metrics.get("items", false);
+        metrics.load("items", 5_000_000);
+        metrics.compression("items", 1000, 120, 50_000);
+
+        assertThat(registry.get("r3edge.cache.gets").tags("cache", "items", "result", "hit").counter().count())
+            .isEqualTo(1);
+        assertThat(registry.get("r3edge.cache.gets").tags("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("r3edge.cache.loads").timer().count()).isEqualTo(1);
+        assertThat(registry.get("r3edge.cache.codec.raw").summary().totalAmount()).isEqualTo(1000);
+        assertThat(registry.get("r3edge.cache.codec.stored").summary().totalAmount()).isEqualTo(120);
+    }
+
+    @Test
+    void without_meter_registry_nothing_should_be_recorded() {
+        MicrometerMetrics metrics = metrics(null);
+        metrics.afterSingletonsInstantiated();
+
+        metrics.resolution("service", "api", 1_000, 0);
+        metrics.get("items", true);
+        metrics.bindRegistrySize(() -> 1);
+    }
+}